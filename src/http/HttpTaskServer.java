@@ -1,18 +1,23 @@
 package http;
 
 import com.sun.net.httpserver.HttpServer;
+import http.config.HttpTaskServerConfig;
 import http.handlers.*;
 import models.managers.Managers;
 import models.managers.TaskManager;
+import models.managers.filebacked.FileBackedTaskManager;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HttpTaskServer {
     private static HttpTaskServer instance;
     private HttpServer server;
+    private ExecutorService executor;
     private final TaskManager taskManger;
-    private final int port = 8081; // Local 8080 is occupied
+    private final HttpTaskServerConfig config;
 
     public static void main(String[] args) throws IOException {
         getInstance().start();
@@ -20,28 +25,59 @@ public class HttpTaskServer {
 
     private static HttpTaskServer getInstance() {
         if (instance == null) {
-            instance = new HttpTaskServer(new Managers().getfileBackedTaskManager());
+            Managers managers = new Managers();
+            FileBackedTaskManager fileBackedTaskManager = managers.getfileBackedTaskManager();
+            Runtime.getRuntime().addShutdownHook(new Thread(fileBackedTaskManager::close)); // Write pending changes
+            instance = new HttpTaskServer(
+                    managers.getConcurrentTaskManager(fileBackedTaskManager),
+                    HttpTaskServerConfig.fromSystemProperties()
+            );
         }
 
         return instance;
     }
 
     public HttpTaskServer(TaskManager taskManager) {
+        this(taskManager, HttpTaskServerConfig.makeDefault());
+    }
+
+    /**
+     * The Task Manager must be thread-safe if the config makes requests run in parallel
+     */
+    public HttpTaskServer(TaskManager taskManager, HttpTaskServerConfig config) {
         this.taskManger = taskManager;
+        this.config = config;
     }
 
     public String getBaseUriStr() {
-        return String.format("http://localhost:%d", port);
+        return String.format("http://localhost:%d", config.getPort());
     }
 
     public void start() throws IOException {
-        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server = HttpServer.create(new InetSocketAddress(config.getPort()), config.getBacklog());
+        executor = makeExecutor();
+        server.setExecutor(executor);
         mapHandlers();
         server.start();
     }
 
     public void stop() {
         server.stop(1);
+
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Executor of requests, or null to use the dispatcher thread of the server
+     */
+    private ExecutorService makeExecutor() {
+        return switch (config.getExecutionMode()) {
+            case DISPATCHER -> null;
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+            case PLATFORM_POOL -> Executors.newFixedThreadPool(config.getPoolSize());
+        };
     }
 
     private void mapHandlers() {
@@ -50,5 +86,6 @@ public class HttpTaskServer {
         server.createContext("/subtasks", new SubTasksHandler("/subtasks", this.taskManger));
         server.createContext("/history", new HistoryHandler("/history", this.taskManger));
         server.createContext("/prioritized", new PrioritizedHandler("/prioritized", this.taskManger));
+        server.createContext("/batch", new BatchHandler("/batch", this.taskManger));
     }
 }
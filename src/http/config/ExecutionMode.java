@@ -0,0 +1,10 @@
+package http.config;
+
+/**
+ * How HTTP requests are executed
+ */
+public enum ExecutionMode {
+    DISPATCHER, // One by one on the dispatcher thread of the server
+    VIRTUAL_THREADS, // Each request on its own virtual thread
+    PLATFORM_POOL // On a bounded pool of platform threads
+}
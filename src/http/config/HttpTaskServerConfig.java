@@ -0,0 +1,73 @@
+package http.config;
+
+public class HttpTaskServerConfig {
+    private static final int defaultPort = 8081; // Local 8080 is occupied
+    private final int port;
+    private final int backlog;
+    private final ExecutionMode executionMode;
+    private final int poolSize;
+
+    public HttpTaskServerConfig(
+            int port,
+            int backlog,
+            ExecutionMode executionMode,
+            int poolSize
+    ) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive");
+        }
+
+        this.port = port;
+        this.backlog = backlog;
+        this.executionMode = executionMode;
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Requests are processed one by one, so the Task Manager doesn't have to be thread-safe
+     */
+    public static HttpTaskServerConfig makeDefault() {
+        return new HttpTaskServerConfig(
+                defaultPort,
+                0, // System default
+                ExecutionMode.DISPATCHER,
+                Runtime.getRuntime().availableProcessors()
+        );
+    }
+
+    /**
+     * Read the config from system properties, e.g. "-Dhttp.executionMode=VIRTUAL_THREADS":
+     * - http.port
+     * - http.backlog
+     * - http.executionMode: DISPATCHER, VIRTUAL_THREADS or PLATFORM_POOL
+     * - http.poolSize: number of threads for PLATFORM_POOL
+     */
+    public static HttpTaskServerConfig fromSystemProperties() {
+        HttpTaskServerConfig defaultConfig = makeDefault();
+
+        return new HttpTaskServerConfig(
+                Integer.getInteger("http.port", defaultConfig.getPort()),
+                Integer.getInteger("http.backlog", defaultConfig.getBacklog()),
+                ExecutionMode.valueOf(
+                        System.getProperty("http.executionMode", ExecutionMode.VIRTUAL_THREADS.name())
+                ),
+                Integer.getInteger("http.poolSize", defaultConfig.getPoolSize())
+        );
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public int getBacklog() {
+        return backlog;
+    }
+
+    public ExecutionMode getExecutionMode() {
+        return executionMode;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+}
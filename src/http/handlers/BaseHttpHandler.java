@@ -1,23 +1,40 @@
 package http.handlers;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import http.exceptions.MethodNotAllowedException;
 import http.exceptions.NotFoundException;
+import http.routing.QueryParameters;
+import http.routing.Router;
 import http.serialization.SerializerFactory;
 import models.managers.TaskManager;
+import models.managers.query.TaskPage;
+import models.managers.query.TaskQuery;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.function.Consumer;
 
+/**
+ * Handler of a base path. Subclasses add their routes in constructors, so the routes are built once.
+ * The subclasses are final, since their routes refer to their methods before subclasses could be constructed.
+ */
 public abstract class BaseHttpHandler implements HttpHandler {
+    private static final List<String> queryParameters = List.of("limit", "cursor", "status", "epic", "from", "to");
     protected final String basePath;
     protected final TaskManager taskManager;
     protected final Gson serializer = SerializerFactory.getSerializer();
+    protected final Router router = new Router();
 
     public BaseHttpHandler(
             String basePath,
@@ -30,10 +47,10 @@ public abstract class BaseHttpHandler implements HttpHandler {
     @Override
     public void handle(HttpExchange httpExchange) throws IOException {
         try {
-            this.process(httpExchange);
+            router.route(httpExchange);
         } catch (NotFoundException e) {
             sendNotFound(httpExchange, e.getMessage());
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | JsonParseException e) { // Including bodies of wrong types
             sendNotAcceptable(httpExchange, e.getMessage());
         } catch (MethodNotAllowedException e) {
             sendMethodNotAllowed(httpExchange, e.getMessage());
@@ -42,12 +59,49 @@ public abstract class BaseHttpHandler implements HttpHandler {
         }
     }
 
-    protected abstract void process(HttpExchange httpExchange) throws IOException;
-
     protected void sendOk(HttpExchange exchange, Object body) throws IOException {
         send(exchange, 200, body);
     }
 
+    /**
+     * Send the visited list, so JSON of the response isn't built in memory.
+     * Only references to the shared Tasks are collected by visiting, which may lock the manager,
+     * then they're serialized to the client without holding the locks.
+     * The body is sent by chunks, because its length isn't known before.
+     */
+    protected void sendOkList(HttpExchange exchange, Consumer<Consumer<Task>> visitor) throws IOException {
+        Gson responseSerializer = getResponseSerializer(exchange);
+        ArrayList<Task> tasks = new ArrayList<>();
+        visitor.accept(tasks::add);
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        try (
+                JsonWriter jsonWriter = responseSerializer.newJsonWriter(
+                        new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8))
+                )
+        ) {
+            jsonWriter.beginArray();
+
+            for (Task task : tasks) {
+                responseSerializer.toJson(task, task.getClass(), jsonWriter);
+            }
+
+            jsonWriter.endArray();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Send the page, the cursor of the next page is sent by the "X-Next-Cursor" header
+     */
+    protected void sendOkPage(HttpExchange exchange, TaskPage<?> page) throws IOException {
+        page.getNextCursor().ifPresent(cursor -> exchange.getResponseHeaders().add("X-Next-Cursor", cursor));
+        sendOk(exchange, page.getTasks());
+    }
+
     protected void sendCreated(HttpExchange exchange, Object body) throws IOException {
         send(exchange, 201, body);
     }
@@ -73,7 +127,12 @@ public abstract class BaseHttpHandler implements HttpHandler {
             int statusCode,
             Object body
     ) throws IOException {
-        String jsonText = body != null ? serializer.toJson(body) : "";
+        if (exchange.getResponseCode() != -1) { // The response is already started, e.g. by streaming, so it can only be cut
+            exchange.close();
+            return;
+        }
+
+        String jsonText = body != null ? getResponseSerializer(exchange).toJson(body) : "";
         byte[] bodyBytes = jsonText.getBytes(StandardCharsets.UTF_8);
 
         exchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
@@ -82,22 +141,41 @@ public abstract class BaseHttpHandler implements HttpHandler {
         exchange.close();
     }
 
-    protected boolean doesPathMatch(HttpExchange httpExchange, String regExp) {
-        String path = httpExchange.getRequestURI().getPath();
-        Pattern pattern = Pattern.compile(regExp);
-        Matcher matcher = pattern.matcher(path);
-        return matcher.find();
+    /**
+     * Responses are pretty printed only by the "pretty" query parameter
+     */
+    protected Gson getResponseSerializer(HttpExchange exchange) {
+        return new QueryParameters(exchange.getRequestURI()).isEnabled("pretty")
+                ? SerializerFactory.getPrettySerializer()
+                : serializer;
     }
 
-    protected Optional<String> getPathPart(HttpExchange httpExchange, String regExp) {
-        String path = httpExchange.getRequestURI().getPath();
-        Pattern pattern = Pattern.compile(regExp);
-        Matcher matcher = pattern.matcher(path);
+    /**
+     * Got Tasks are added to the history unless the "peek" query parameter is enabled
+     */
+    protected boolean isPeeking(HttpExchange exchange) {
+        return new QueryParameters(exchange.getRequestURI()).isEnabled("peek");
+    }
+
+    /**
+     * Query by the "limit", "cursor", "status", "epic", "from" and "to" parameters.
+     * It's empty without them, so the whole list may be streamed.
+     */
+    protected Optional<TaskQuery> getTaskQuery(HttpExchange exchange) {
+        QueryParameters parameters = new QueryParameters(exchange.getRequestURI());
 
-        if (matcher.find()) {
-            return Optional.of(matcher.group(1));
+        if (queryParameters.stream().noneMatch(parameters::has)) {
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        TaskQuery query = new TaskQuery()
+                .setCursor(parameters.get("cursor").orElse(null))
+                .setStatus(parameters.get("status").map(TaskStatus::valueOf).orElse(null))
+                .setEpicId(parameters.getInt("epic").orElse(null))
+                .setFrom(parameters.getDateTime("from").orElse(null))
+                .setTo(parameters.getDateTime("to").orElse(null));
+        parameters.getInt("limit").ifPresent(query::setLimit);
+
+        return Optional.of(query);
     }
-}
\ No newline at end of file
+}
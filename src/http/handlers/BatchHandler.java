@@ -0,0 +1,66 @@
+package http.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import http.routing.PathParameters;
+import models.managers.TaskManager;
+import models.managers.batch.BatchOperation;
+import models.managers.batch.TaskBatch;
+import models.tasks.Task;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+public final class BatchHandler extends BaseHttpHandler {
+    public BatchHandler(
+            String basePath,
+            TaskManager taskManager
+    ) {
+        super(basePath, taskManager);
+        router.post(basePath, this::postBatch);
+    }
+
+    /**
+     * Apply the list of items like {"operation": "CREATE", "task": {"type": "SUB", ...}} or
+     * {"operation": "REMOVE", "id": 1}. Tasks are read with their "type" fields, Regular Tasks by default.
+     * Results of the items are sent in the same order.
+     */
+    private void postBatch(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        ItemData[] itemsData = serializer.fromJson(
+                new String(
+                        httpExchange.getRequestBody().readAllBytes(),
+                        StandardCharsets.UTF_8
+                ),
+                ItemData[].class
+        );
+
+        if (itemsData == null) {
+            throw new IllegalArgumentException("Items of the batch are required");
+        }
+
+        TaskBatch batch = new TaskBatch();
+
+        for (ItemData itemData : itemsData) {
+            if (itemData == null || itemData.operation == null) {
+                throw new IllegalArgumentException("Operation of the batch item is required");
+            }
+
+            if (itemData.operation != BatchOperation.REMOVE && itemData.task == null) {
+                throw new IllegalArgumentException("Task of the batch item is required");
+            }
+
+            switch (itemData.operation) {
+                case CREATE -> batch.create(itemData.task);
+                case UPDATE -> batch.update(itemData.task);
+                case REMOVE -> batch.remove(itemData.id);
+            }
+        }
+
+        sendCreated(httpExchange, taskManager.applyBatch(batch));
+    }
+
+    private static class ItemData {
+        private BatchOperation operation;
+        private Task task;
+        private int id;
+    }
+}
@@ -1,70 +1,48 @@
 package http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
-import http.exceptions.MethodNotAllowedException;
 import http.exceptions.NotFoundException;
+import http.routing.PathParameters;
 import models.managers.TaskManager;
+import models.managers.query.TaskQuery;
 import models.tasks.EpicTask;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Optional;
 
-public class EpicsHandler extends BaseHttpHandler {
+public final class EpicsHandler extends BaseHttpHandler {
     public EpicsHandler(
             String basePath,
             TaskManager taskManager
     ) {
         super(basePath, taskManager);
+        router
+                .get(basePath, this::getTasks)
+                .post(basePath, this::postTask)
+                .get(basePath + "/{id:int}", this::getTask)
+                .get(basePath + "/{id:int}/subtasks", this::getSubTasks)
+                .delete(basePath + "/{id:int}", this::deleteTask);
     }
 
+    private void getTasks(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        Optional<TaskQuery> query = getTaskQuery(httpExchange);
 
-    @Override
-    public void process(HttpExchange httpExchange) throws IOException {
-        String method = httpExchange.getRequestMethod();
-        boolean hasListPath = doesPathMatch(httpExchange, basePath + "$");
-        boolean hasItemPath = doesPathMatch(httpExchange, basePath + "/\\d$");
-
-        switch (method) {
-            case "GET" -> {
-                if (hasListPath) {
-                    getTasks(httpExchange);
-                } else if (hasItemPath) {
-                    getTask(httpExchange);
-                } else if (doesPathMatch(httpExchange, basePath + "/\\d/subtasks$")) {
-                    getSubTasks(httpExchange);
-                }
-            }
-            case "POST" -> {
-                if (hasListPath) {
-                    postTask(httpExchange);
-                }
-            }
-            case "DELETE" -> {
-                if (hasItemPath) {
-                    deleteTask(httpExchange);
-                }
-            }
-            default -> throw new MethodNotAllowedException();
+        if (query.isPresent()) {
+            sendOkPage(httpExchange, taskManager.findEpicTasks(query.get()));
+        } else {
+            sendOkList(httpExchange, taskManager::forEachEpicTask);
         }
     }
 
-    private void getTasks(HttpExchange httpExchange) throws IOException {
-        ArrayList<EpicTask> epics = taskManager.getEpicTasks();
-        sendOk(httpExchange, epics);
-    }
-
-    private void getSubTasks(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
-        EpicTask task = taskManager.getEpicTask(id)
+    private void getSubTasks(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
+        EpicTask task = taskManager.peekEpicTask(id)
                 .orElseThrow(NotFoundException::new);
-        sendOk(httpExchange, taskManager.getEpicSubTasks(task.getId()));
+        sendOkList(httpExchange, action -> taskManager.forEachEpicSubTask(task.getId(), action));
     }
 
-    private void postTask(HttpExchange httpExchange) throws IOException {
+    private void postTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
         sendCreated(
                 httpExchange,
                 taskManager.createTask(
@@ -79,23 +57,17 @@ public class EpicsHandler extends BaseHttpHandler {
         );
     }
 
-    public void getTask(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
-        EpicTask task = taskManager.getEpicTask(id)
+    public void getTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
+        EpicTask task = (isPeeking(httpExchange) ? taskManager.peekEpicTask(id) : taskManager.getEpicTask(id))
                 .orElseThrow(NotFoundException::new);
         sendOk(httpExchange, task);
     }
 
-    public void deleteTask(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
+    public void deleteTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
 
-        if (taskManager.getEpicTask(id).isPresent()) {
+        if (taskManager.peekEpicTask(id).isPresent()) {
             taskManager.removeTask(id);
         }
 
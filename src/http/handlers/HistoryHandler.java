@@ -1,32 +1,21 @@
 package http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
-import http.exceptions.MethodNotAllowedException;
+import http.routing.PathParameters;
 import models.managers.TaskManager;
 
 import java.io.IOException;
 
-public class HistoryHandler extends BaseHttpHandler {
+public final class HistoryHandler extends BaseHttpHandler {
     public HistoryHandler(
             String basePath,
             TaskManager taskManager
             ) {
         super(basePath, taskManager);
+        router.get(basePath, this::getHistory);
     }
 
-    @Override
-    public void process(HttpExchange httpExchange) throws IOException {
-        if (
-                httpExchange.getRequestMethod().equals("GET")
-                        && doesPathMatch(httpExchange, this.basePath + "$")
-        ) {
-            getHistory(httpExchange);
-        } else {
-            throw new MethodNotAllowedException();
-        }
-    }
-
-    private void getHistory(HttpExchange httpExchange) throws IOException {
+    private void getHistory(HttpExchange httpExchange, PathParameters parameters) throws IOException {
         sendOk(httpExchange, taskManager.getHistory());
     }
 }
\ No newline at end of file
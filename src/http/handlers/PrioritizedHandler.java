@@ -1,32 +1,47 @@
 package http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
-import http.exceptions.MethodNotAllowedException;
+import http.routing.PathParameters;
+import http.routing.QueryParameters;
 import models.managers.TaskManager;
+import models.managers.query.TaskQuery;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
 
-public class PrioritizedHandler extends BaseHttpHandler {
+public final class PrioritizedHandler extends BaseHttpHandler {
     public PrioritizedHandler(
             String basePath,
             TaskManager taskManager
     ) {
         super(basePath, taskManager);
+        router
+                .get(basePath, this::getTasks)
+                .get(basePath + "/free-slot", this::getFreeSlot);
     }
 
-    @Override
-    public void process(HttpExchange httpExchange) throws IOException {
-        if (
-                httpExchange.getRequestMethod().equals("GET")
-                        && doesPathMatch(httpExchange, this.basePath + "$")
-        ) {
-            getTasks(httpExchange);
+    private void getTasks(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        Optional<TaskQuery> query = getTaskQuery(httpExchange);
+
+        if (query.isPresent()) {
+            sendOkPage(httpExchange, taskManager.findPrioritizedTasks(query.get()));
         } else {
-            throw new MethodNotAllowedException();
+            sendOkList(httpExchange, taskManager::forEachPrioritizedTask);
         }
     }
 
-    private void getTasks(HttpExchange httpExchange) throws IOException {
-        sendOk(httpExchange, taskManager.getPrioritizedTasks());
+    /**
+     * The earliest free period of "duration" minutes not before "from", which is now by default
+     */
+    private void getFreeSlot(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        QueryParameters queryParameters = new QueryParameters(httpExchange.getRequestURI());
+        int minutes = queryParameters.getInt("duration")
+                .orElseThrow(() -> new IllegalArgumentException("Duration in minutes is required"));
+        LocalDateTime from = queryParameters.getDateTime("from")
+                .orElseGet(LocalDateTime::now);
+
+        sendOk(httpExchange, taskManager.findFreeSlot(from, Duration.ofMinutes(minutes)));
     }
-}
\ No newline at end of file
+}
@@ -1,57 +1,41 @@
 package http.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
-import http.exceptions.MethodNotAllowedException;
 import http.exceptions.NotFoundException;
+import http.routing.PathParameters;
+import http.routing.QueryParameters;
 import models.managers.TaskManager;
+import models.managers.query.TaskQuery;
 import models.tasks.SubTask;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.util.Optional;
 
-public class SubTasksHandler extends BaseHttpHandler {
+public final class SubTasksHandler extends BaseHttpHandler {
     public SubTasksHandler(
             String basePath,
             TaskManager taskManager
     ) {
         super(basePath, taskManager);
+        router
+                .get(basePath, this::getTasks)
+                .post(basePath, this::postTask)
+                .get(basePath + "/{id:int}", this::getTask)
+                .delete(basePath + "/{id:int}", this::deleteTask);
     }
 
-    @Override
-    public void process(HttpExchange httpExchange) throws IOException {
-        String method = httpExchange.getRequestMethod();
-        boolean hasListPath = doesPathMatch(httpExchange, basePath + "$");
-        boolean hasItemPath = doesPathMatch(httpExchange, basePath + "/\\d$");
+    private void getTasks(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        Optional<TaskQuery> query = getTaskQuery(httpExchange);
 
-        switch (method) {
-            case "GET" -> {
-                if (hasListPath) {
-                    getTasks(httpExchange);
-                } else if (hasItemPath) {
-                    getTask(httpExchange);
-                }
-            }
-            case "POST" -> {
-                if (hasListPath) {
-                    postTask(httpExchange);
-                }
-            }
-            case "DELETE" -> {
-                if (hasItemPath) {
-                    deleteTask(httpExchange);
-                }
-            }
-            default -> throw new MethodNotAllowedException();
+        if (query.isPresent()) {
+            sendOkPage(httpExchange, taskManager.findSubTasks(query.get()));
+        } else {
+            sendOkList(httpExchange, taskManager::forEachSubTask);
         }
     }
 
-    private void getTasks(HttpExchange httpExchange) throws IOException {
-        ArrayList<SubTask> tasks = taskManager.getSubTasks();
-        sendOk(httpExchange, tasks);
-    }
-
-    private void postTask(HttpExchange httpExchange) throws IOException {
+    private void postTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
         SubTask taskData = serializer.fromJson(
                 new String(
                         httpExchange.getRequestBody().readAllBytes(),
@@ -71,41 +55,36 @@ public class SubTasksHandler extends BaseHttpHandler {
         sendCreated(
                 httpExchange,
                 taskManager.createTask(
-                        taskData
+                        taskData,
+                        new QueryParameters(httpExchange.getRequestURI()).isEnabled("autoSchedule")
                 )
         );
     }
 
     private void postUpdateTask(HttpExchange httpExchange, SubTask taskData) throws IOException {
-        taskManager.getSubTask(taskData.getId())
+        taskManager.peekSubTask(taskData.getId())
                 .orElseThrow(NotFoundException::new);
         taskManager.updateTask(taskData);
 
         sendCreated(
                 httpExchange,
                 taskManager
-                        .getSubTask(taskData.getId())
+                        .peekSubTask(taskData.getId())
                         .orElseThrow()
         );
     }
 
-    public void getTask(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
-        SubTask task = taskManager.getSubTask(id)
+    public void getTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
+        SubTask task = (isPeeking(httpExchange) ? taskManager.peekSubTask(id) : taskManager.getSubTask(id))
                 .orElseThrow(NotFoundException::new);
         sendOk(httpExchange, task);
     }
 
-    public void deleteTask(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
+    public void deleteTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
 
-        if (taskManager.getSubTask(id).isPresent()) {
+        if (taskManager.peekSubTask(id).isPresent()) {
             taskManager.removeTask(id);
         }
 
@@ -1,61 +1,41 @@
 package http.handlers;
 
-import com.google.gson.Gson;
 import com.sun.net.httpserver.HttpExchange;
-import http.exceptions.MethodNotAllowedException;
 import http.exceptions.NotFoundException;
-import http.serialization.SerializerFactory;
+import http.routing.PathParameters;
+import http.routing.QueryParameters;
 import models.managers.TaskManager;
+import models.managers.query.TaskQuery;
 import models.tasks.Task;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-
-public class TasksHandler extends BaseHttpHandler {
-    private final Gson serializer = SerializerFactory.getSerializer();
+import java.util.Optional;
 
+public final class TasksHandler extends BaseHttpHandler {
     public TasksHandler(
             String basePath,
             TaskManager taskManager
     ) {
         super(basePath, taskManager);
+        router
+                .get(basePath, this::getTasks)
+                .post(basePath, this::postTask)
+                .get(basePath + "/{id:int}", this::getTask)
+                .delete(basePath + "/{id:int}", this::deleteTask);
     }
 
-    @Override
-    public void process(HttpExchange httpExchange) throws IOException {
-        String method = httpExchange.getRequestMethod();
-        boolean hasListPath = doesPathMatch(httpExchange, basePath + "$");
-        boolean hasItemPath = doesPathMatch(httpExchange, basePath + "/\\d$");
+    private void getTasks(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        Optional<TaskQuery> query = getTaskQuery(httpExchange);
 
-        switch (method) {
-            case "GET" -> {
-                if (hasListPath) {
-                    getTasks(httpExchange);
-                } else if (hasItemPath) {
-                    getTask(httpExchange);
-                }
-            }
-            case "POST" -> {
-                if (hasListPath) {
-                    postTask(httpExchange);
-                }
-            }
-            case "DELETE" -> {
-                if (hasItemPath) {
-                    deleteTask(httpExchange);
-                }
-            }
-            default -> throw new MethodNotAllowedException();
+        if (query.isPresent()) {
+            sendOkPage(httpExchange, taskManager.findTasks(query.get()));
+        } else {
+            sendOkList(httpExchange, taskManager::forEachTask);
         }
     }
 
-    private void getTasks(HttpExchange httpExchange) throws IOException {
-        ArrayList<Task> tasks = taskManager.getTasks();
-        sendOk(httpExchange, tasks);
-    }
-
-    private void postTask(HttpExchange httpExchange) throws IOException {
+    private void postTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
         Task taskData = serializer.fromJson(
                 new String(
                         httpExchange.getRequestBody().readAllBytes(),
@@ -64,6 +44,10 @@ public class TasksHandler extends BaseHttpHandler {
                 Task.class
         );
 
+        if (taskData.getClass() != Task.class) { // Task bodies may be read as subtypes by the "type" field
+            throw new IllegalArgumentException("Only Regular Tasks are posted to " + basePath);
+        }
+
         if (taskData.getId() == 0) {
             postCreateTask(httpExchange, taskData);
         } else {
@@ -75,41 +59,36 @@ public class TasksHandler extends BaseHttpHandler {
         sendCreated(
                 httpExchange,
                 taskManager.createTask(
-                        taskData
+                        taskData,
+                        new QueryParameters(httpExchange.getRequestURI()).isEnabled("autoSchedule")
                 )
         );
     }
 
     private void postUpdateTask(HttpExchange httpExchange, Task taskData) throws IOException {
-        taskManager.getTask(taskData.getId())
+        taskManager.peekTask(taskData.getId())
                 .orElseThrow(NotFoundException::new);
         taskManager.updateTask(taskData);
 
         sendCreated(
                 httpExchange,
                 taskManager
-                        .getTask(taskData.getId())
+                        .peekTask(taskData.getId())
                         .orElseThrow()
         );
     }
 
-    public void getTask(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
-        Task task = taskManager.getTask(id)
+    public void getTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
+        Task task = (isPeeking(httpExchange) ? taskManager.peekTask(id) : taskManager.getTask(id))
                 .orElseThrow(NotFoundException::new);
         sendOk(httpExchange, task);
     }
 
-    public void deleteTask(HttpExchange httpExchange) throws IOException {
-        int id = Integer.parseInt(
-                getPathPart(httpExchange, basePath + "/(\\d+)")
-                        .orElseThrow(NotFoundException::new)
-        );
+    public void deleteTask(HttpExchange httpExchange, PathParameters parameters) throws IOException {
+        int id = parameters.getInt("id");
 
-        if (taskManager.getTask(id).isPresent()) {
+        if (taskManager.peekTask(id).isPresent()) {
             taskManager.removeTask(id);
         }
 
@@ -0,0 +1,35 @@
+package http.routing;
+
+import http.exceptions.NotFoundException;
+
+import java.util.ArrayList;
+
+/**
+ * Values of the path template parameters, e.g. "id" of "/tasks/{id:int}"
+ */
+public class PathParameters {
+    private final ArrayList<String> names = new ArrayList<>(2);
+    private final ArrayList<String> values = new ArrayList<>(2);
+
+    void add(String name, String value) {
+        names.add(name);
+        values.add(value);
+    }
+
+    public String get(String name) {
+        int index = names.indexOf(name);
+
+        if (index < 0) {
+            throw new NotFoundException();
+        }
+
+        return values.get(index);
+    }
+
+    /**
+     * The value of an "int" parameter, its digits are already checked by the router
+     */
+    public int getInt(String name) {
+        return Integer.parseInt(get(name));
+    }
+}
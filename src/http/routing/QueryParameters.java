@@ -0,0 +1,82 @@
+package http.routing;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Optional;
+
+/**
+ * Parameters of the request query, e.g. "pretty" of "/tasks?pretty=true"
+ */
+public class QueryParameters {
+    private final HashMap<String, String> values = new HashMap<>();
+
+    public QueryParameters(URI uri) {
+        String query = uri.getRawQuery();
+
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+
+        int start = 0;
+
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            end = end < 0 ? query.length() : end;
+            int separator = query.indexOf('=', start);
+
+            if (end > start) {
+                if (separator < 0 || separator > end) { // Parameter without a value
+                    values.putIfAbsent(decode(query.substring(start, end)), "");
+                } else {
+                    values.putIfAbsent(decode(query.substring(start, separator)), decode(query.substring(separator + 1, end)));
+                }
+            }
+
+            start = end + 1;
+        }
+    }
+
+    public Optional<String> get(String name) {
+        return Optional.ofNullable(values.get(name));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value isn't an int
+     */
+    public Optional<Integer> getInt(String name) {
+        return get(name).map(Integer::parseInt);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value isn't an ISO date time
+     */
+    public Optional<LocalDateTime> getDateTime(String name) {
+        return get(name).map(value -> {
+            try {
+                return LocalDateTime.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException(String.format("%s must be an ISO date time", name));
+            }
+        });
+    }
+
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    /**
+     * Whether the flag is passed without a value or with "true" or "1"
+     */
+    public boolean isEnabled(String name) {
+        String value = values.get(name);
+        return value != null && (value.isEmpty() || value.equals("true") || value.equals("1"));
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
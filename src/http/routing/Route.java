@@ -0,0 +1,10 @@
+package http.routing;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface Route {
+    void handle(HttpExchange httpExchange, PathParameters parameters) throws IOException;
+}
@@ -0,0 +1,164 @@
+package http.routing;
+
+import com.sun.net.httpserver.HttpExchange;
+import http.exceptions.MethodNotAllowedException;
+import http.exceptions.NotFoundException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Routes requests by path templates like "/epics/{id:int}/subtasks".
+ * Templates are kept as a tree of path segments, so a request is matched by walking its segments once,
+ * whatever the number of routes is. Parameters are "{name}" for any segment or "{name:int}" for non-negative ints.
+ * Literal segments take precedence over parameters.
+ */
+public class Router {
+    private final Node root = new Node();
+
+    public Router get(String template, Route route) {
+        return add("GET", template, route);
+    }
+
+    public Router post(String template, Route route) {
+        return add("POST", template, route);
+    }
+
+    public Router delete(String template, Route route) {
+        return add("DELETE", template, route);
+    }
+
+    public Router add(String method, String template, Route route) {
+        Node node = root;
+
+        for (String segment : splitPath(template)) {
+            node = segment.startsWith("{") && segment.endsWith("}")
+                    ? node.getParameterChild(segment.substring(1, segment.length() - 1))
+                    : node.literalChildren.computeIfAbsent(segment, key -> new Node());
+        }
+
+        if (node.routes.putIfAbsent(method, route) != null) {
+            throw new IllegalStateException(String.format("Route %s %s is already added", method, template));
+        }
+
+        return this;
+    }
+
+    public void route(HttpExchange httpExchange) throws IOException {
+        PathParameters parameters = new PathParameters();
+        Route route = find(httpExchange.getRequestMethod(), httpExchange.getRequestURI().getPath(), parameters);
+        route.handle(httpExchange, parameters);
+    }
+
+    /**
+     * Find the route of the request and fill its path parameters
+     *
+     * @throws NotFoundException         if no template matches the path
+     * @throws MethodNotAllowedException if the path has no route of the method
+     */
+    public Route find(String method, String path, PathParameters parameters) {
+        Node node = root;
+        int length = path.length();
+        int start = 0;
+
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            end = end < 0 ? length : end;
+
+            if (end > start) { // Empty segments are skipped like in templates
+                node = node.findChild(path, start, end, parameters);
+
+                if (node == null) {
+                    throw new NotFoundException();
+                }
+            }
+
+            start = end + 1;
+        }
+
+        if (node.routes.isEmpty()) {
+            throw new NotFoundException();
+        }
+
+        Route route = node.routes.get(method);
+
+        if (route == null) {
+            throw new MethodNotAllowedException();
+        }
+
+        return route;
+    }
+
+    private static String[] splitPath(String path) {
+        return Arrays.stream(path.split("/"))
+                .filter(segment -> !segment.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static boolean isInt(String path, int start, int end) {
+        if (end - start > 10) { // Longer than Integer.MAX_VALUE
+            return false;
+        }
+
+        long value = 0;
+
+        for (int i = start; i < end; i++) {
+            char symbol = path.charAt(i);
+
+            if (symbol < '0' || symbol > '9') {
+                return false;
+            }
+
+            value = value * 10 + (symbol - '0');
+        }
+
+        return value <= Integer.MAX_VALUE;
+    }
+
+    private static class Node {
+        private final HashMap<String, Node> literalChildren = new HashMap<>();
+        private final HashMap<String, Route> routes = new HashMap<>(); // Method -> Route
+        private Node parameterChild;
+        private String parameterName;
+        private boolean isIntParameter;
+
+        public Node getParameterChild(String parameter) {
+            int typeIndex = parameter.indexOf(':');
+            String name = typeIndex < 0 ? parameter : parameter.substring(0, typeIndex);
+            String type = typeIndex < 0 ? "" : parameter.substring(typeIndex + 1);
+
+            if (!type.isEmpty() && !type.equals("int")) {
+                throw new IllegalArgumentException("Unknown parameter type " + type);
+            }
+
+            if (parameterChild == null) {
+                parameterChild = new Node();
+                parameterName = name;
+                isIntParameter = !type.isEmpty();
+            } else if (!parameterName.equals(name) || isIntParameter != !type.isEmpty()) {
+                throw new IllegalStateException("Conflicting parameter " + parameter);
+            }
+
+            return parameterChild;
+        }
+
+        public Node findChild(String path, int start, int end, PathParameters parameters) {
+            if (!literalChildren.isEmpty()) {
+                Node child = literalChildren.get(path.substring(start, end));
+
+                if (child != null) {
+                    return child;
+                }
+            }
+
+            if (parameterChild == null || (isIntParameter && !isInt(path, start, end))) {
+                return null;
+            }
+
+            parameters.add(parameterName, path.substring(start, end));
+
+            return parameterChild;
+        }
+    }
+}
@@ -4,22 +4,38 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import http.serialization.adapters.DurationAdapter;
 import http.serialization.adapters.LocalDateTimeAdapter;
+import http.serialization.adapters.TaskAdapterFactory;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 
 public class SerializerFactory {
     private static Gson gson;
+    private static Gson prettyGson;
 
     public static Gson getSerializer() {
         if (gson == null) {
-            gson = new GsonBuilder()
-                    .setPrettyPrinting()
-                    .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
-                    .registerTypeAdapter(Duration.class, new DurationAdapter())
-                    .create();
+            gson = makeBuilder().create();
         }
 
         return gson;
     }
+
+    /**
+     * Serializer with indents, which make responses several times bigger
+     */
+    public static Gson getPrettySerializer() {
+        if (prettyGson == null) {
+            prettyGson = makeBuilder().setPrettyPrinting().create();
+        }
+
+        return prettyGson;
+    }
+
+    private static GsonBuilder makeBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .registerTypeAdapterFactory(new TaskAdapterFactory());
+    }
 }
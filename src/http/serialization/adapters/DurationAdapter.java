@@ -1,5 +1,6 @@
 package http.serialization.adapters;
 
+import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
@@ -10,23 +11,31 @@ import java.time.Duration;
 public class DurationAdapter extends TypeAdapter<Duration> {
     @Override
     public void write(JsonWriter jsonWriter, Duration duration) throws IOException {
-        String durationStr = String.format(
-                "%d:%d:%d",
-                duration.toHours(),
-                duration.toMinutesPart(),
-                duration.toSecondsPart()
-        );
+        String durationStr = new StringBuilder(16) // Much cheaper than formatting
+                .append(duration.toHours())
+                .append(':')
+                .append(duration.toMinutesPart())
+                .append(':')
+                .append(duration.toSecondsPart())
+                .toString();
         jsonWriter.value(durationStr);
     }
 
     @Override
     public Duration read(JsonReader jsonReader) throws IOException {
-        String[] parts = jsonReader.nextString().split(":", 3);
-        int hours = Integer.parseInt(parts[0]);
-        int minutes = Integer.parseInt(parts[1]);
-        int seconds = Integer.parseInt(parts[2]);
+        String durationStr = jsonReader.nextString();
+        int minutesIndex = durationStr.indexOf(':') + 1;
+        int secondsIndex = durationStr.indexOf(':', minutesIndex) + 1;
 
-        int totalSeconds = seconds + minutes * 60 + hours * 60 * 60;
+        if (minutesIndex == 0 || secondsIndex == 0) {
+            throw new JsonParseException("Duration must be hours:minutes:seconds, but it's " + durationStr);
+        }
+
+        long hours = Long.parseLong(durationStr, 0, minutesIndex - 1, 10);
+        long minutes = Long.parseLong(durationStr, minutesIndex, secondsIndex - 1, 10);
+        long seconds = Long.parseLong(durationStr, secondsIndex, durationStr.length(), 10);
+
+        long totalSeconds = seconds + minutes * 60 + hours * 60 * 60;
 
         return Duration.ofSeconds(totalSeconds);
     }
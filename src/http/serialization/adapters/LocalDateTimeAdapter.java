@@ -9,13 +9,32 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
+    private static final DateTimeFormatter writingFormatter = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss");
     private final DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
 
+    /**
+     * Written as "uuuu-MM-dd'T'HH:mm:ss", seconds are kept even if they're zero.
+     * Times of Tasks are whole seconds, so nothing is lost.
+     * Four-digit years are written by hand, which is much faster than the formatter.
+     */
     @Override
     public void write(JsonWriter jsonWriter, LocalDateTime localDateTime) throws IOException {
-        jsonWriter.value(
-                localDateTime.format(formatter)
-        );
+        int year = localDateTime.getYear();
+
+        if (year < 0 || year > 9999) { // E.g. LocalDateTime.MIN of empty Epics
+            jsonWriter.value(localDateTime.format(writingFormatter));
+            return;
+        }
+
+        char[] chars = "0000-00-00T00:00:00".toCharArray();
+        putDigits(chars, 4, year);
+        putDigits(chars, 7, localDateTime.getMonthValue());
+        putDigits(chars, 10, localDateTime.getDayOfMonth());
+        putDigits(chars, 13, localDateTime.getHour());
+        putDigits(chars, 16, localDateTime.getMinute());
+        putDigits(chars, 19, localDateTime.getSecond());
+
+        jsonWriter.value(new String(chars));
     }
 
     @Override
@@ -25,4 +44,14 @@ public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
                 formatter
         );
     }
+
+    /**
+     * Put digits of the value before the end, leaving zeros padding it
+     */
+    private static void putDigits(char[] chars, int end, int value) {
+        for (int i = end - 1; value > 0; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
 }
@@ -0,0 +1,163 @@
+package http.serialization.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import models.tasks.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Adapters of Regular, Epic and Sub Tasks without reflection.
+ * Tasks are written with the "type" field, so a list of Tasks, e.g. the history or a batch, is read with their own
+ * types, and endpoints check types of their Task bodies. Without the field the Task is read as the requested type.
+ * Missing fields get the defaults of the Task, except for the status, which is left null, so updates keep the stored
+ * status.
+ */
+public class TaskAdapterFactory implements TypeAdapterFactory {
+    private static final String typeField = "type";
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        Class<? super T> rawType = typeToken.getRawType();
+
+        if (rawType != Task.class && rawType != EpicTask.class && rawType != SubTask.class) {
+            return null;
+        }
+
+        return (TypeAdapter<T>) new TaskAdapter(
+                rawType == EpicTask.class ? TaskType.EPIC : rawType == SubTask.class ? TaskType.SUB : TaskType.REGULAR
+        ).nullSafe();
+    }
+
+    private static class TaskAdapter extends TypeAdapter<Task> {
+        private final TaskType requestedType;
+        private final LocalDateTimeAdapter localDateTimeAdapter = new LocalDateTimeAdapter();
+        private final DurationAdapter durationAdapter = new DurationAdapter();
+
+        public TaskAdapter(TaskType requestedType) {
+            this.requestedType = requestedType;
+        }
+
+        @Override
+        public void write(JsonWriter jsonWriter, Task task) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name(typeField).value(getType(task).name());
+            jsonWriter.name("id").value(task.getId());
+
+            if (task instanceof SubTask subTask) {
+                jsonWriter.name("epicId").value(subTask.getEpicId());
+            }
+
+            jsonWriter.name("name").value(task.getName());
+            jsonWriter.name("description").value(task.getDescription());
+
+            if (task.getStatus() != null) { // Only attributes of updates have no status
+                jsonWriter.name("status").value(task.getStatus().name());
+            }
+
+            writeTime(jsonWriter, "startTime", task.getStartTime());
+            durationAdapter.write(jsonWriter.name("duration"), task.getDuration());
+
+            if (task instanceof EpicTask) {
+                writeTime(jsonWriter, "endTime", task.getEndTime());
+            }
+
+            jsonWriter.endObject();
+        }
+
+        @Override
+        public Task read(JsonReader jsonReader) throws IOException {
+            TaskType type = requestedType;
+            int id = 0;
+            int epicId = 0;
+            String name = null;
+            String description = null;
+            TaskStatus status = null;
+            LocalDateTime startTime = LocalDateTime.MIN;
+            Duration duration = Duration.ZERO;
+            LocalDateTime endTime = LocalDateTime.MIN;
+
+            jsonReader.beginObject();
+
+            while (jsonReader.hasNext()) {
+                String field = jsonReader.nextName();
+
+                if (jsonReader.peek() == JsonToken.NULL) { // Same as missing
+                    jsonReader.skipValue();
+                    continue;
+                }
+
+                switch (field) {
+                    case typeField -> type = readType(jsonReader.nextString());
+                    case "id" -> id = jsonReader.nextInt();
+                    case "epicId" -> epicId = jsonReader.nextInt();
+                    case "name" -> name = jsonReader.nextString();
+                    case "description" -> description = jsonReader.nextString();
+                    case "status" -> status = readStatus(jsonReader.nextString());
+                    case "startTime" -> startTime = localDateTimeAdapter.read(jsonReader);
+                    case "duration" -> duration = durationAdapter.read(jsonReader);
+                    case "endTime" -> endTime = localDateTimeAdapter.read(jsonReader);
+                    default -> jsonReader.skipValue();
+                }
+            }
+
+            jsonReader.endObject();
+
+            Task task = switch (type) {
+                case REGULAR -> new Task(id, name, description, startTime, duration);
+                case EPIC -> new EpicTask(id, name, description, startTime, duration, endTime);
+                case SUB -> new SubTask(id, epicId, name, description, startTime, duration);
+            };
+            task.setStatus(status);
+
+            return task;
+        }
+
+        private void writeTime(JsonWriter jsonWriter, String field, LocalDateTime time) throws IOException {
+            if (time != null) {
+                localDateTimeAdapter.write(jsonWriter.name(field), time);
+            }
+        }
+
+        private TaskType readType(String value) {
+            TaskType type;
+
+            try {
+                type = TaskType.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException("Unknown Task type " + value);
+            }
+
+            if (requestedType != TaskType.REGULAR && type != requestedType) { // Only Task may be read as a subtype
+                throw new JsonParseException(String.format("%s Task can't be read as %s", type, requestedType));
+            }
+
+            return type;
+        }
+
+        private static TaskStatus readStatus(String value) {
+            try {
+                return TaskStatus.valueOf(value);
+            } catch (IllegalArgumentException e) {
+                throw new JsonParseException("Unknown Task status " + value);
+            }
+        }
+
+        private static TaskType getType(Task task) {
+            return switch (task) {
+                case EpicTask epicTask -> TaskType.EPIC;
+                case SubTask subTask -> TaskType.SUB;
+                case Task regularTask -> TaskType.REGULAR;
+            };
+        }
+    }
+}
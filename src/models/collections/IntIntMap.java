@@ -0,0 +1,142 @@
+package models.collections;
+
+import java.util.Arrays;
+
+/**
+ * Map of int keys to int values without boxing, it's the primitive counterpart of IntMap, keys are mixed the same way.
+ * The key 0 marks an empty slot, so the key 0 itself is kept aside of the table.
+ */
+public class IntIntMap {
+    private static final int minCapacity = 16;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private boolean hasZeroKey;
+    private int zeroKeyValue;
+
+    public IntIntMap() {
+        keys = new int[minCapacity];
+        values = new int[minCapacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : findSlot(key) >= 0;
+    }
+
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroKeyValue : defaultValue;
+        }
+
+        int slot = findSlot(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            size += hasZeroKey ? 0 : 1;
+            hasZeroKey = true;
+            zeroKeyValue = value;
+            return;
+        }
+
+        int mask = keys.length - 1;
+        int slot = IntMap.hash(key) & mask;
+
+        for (; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++size > keys.length / 4 * 3) {
+            resize(keys.length * 2);
+        }
+    }
+
+    /**
+     * Remove the key, following keys of the probing chain are shifted back like in IntMap
+     */
+    public void remove(int key) {
+        if (key == 0) {
+            size -= hasZeroKey ? 1 : 0;
+            hasZeroKey = false;
+            return;
+        }
+
+        int gap = findSlot(key);
+
+        if (gap < 0) {
+            return;
+        }
+
+        int mask = keys.length - 1;
+
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = IntMap.hash(keys[next]) & mask;
+
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+
+        keys[gap] = 0;
+        size--;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        size = 0;
+        hasZeroKey = false;
+    }
+
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+
+        for (int slot = IntMap.hash(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int mask = capacity - 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) {
+                continue;
+            }
+
+            int slot = IntMap.hash(oldKeys[i]) & mask;
+
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
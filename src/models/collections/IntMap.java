@@ -0,0 +1,195 @@
+package models.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Map of int keys to non-null values without boxing of keys and without entry objects.
+ * That's an open addressing table with linear probing, where an empty slot has the null value.
+ * Keys are mixed before masking, so strided keys don't cluster in the same slots. So the iteration order is arbitrary.
+ */
+public class IntMap<V> {
+    private static final int minCapacity = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    public IntMap() {
+        this(minCapacity);
+    }
+
+    public IntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(minCapacity, expectedSize + expectedSize / 3) * 2 - 1);
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+
+        return null;
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Put the value, returning the previous value of the key or null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Null values aren't supported");
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+
+                return previous;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+
+        if (++size > keys.length / 4 * 3) {
+            resize(keys.length * 2);
+        }
+
+        return null;
+    }
+
+    /**
+     * Remove the key, returning its value or null.
+     * Following keys of the probing chain are shifted back, so there are no deleted markers to skip.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (values[slot] == null) {
+            return null;
+        }
+
+        V removed = (V) values[slot];
+        int gap = slot;
+
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+
+            // Move the key into the gap unless its home slot lies cyclically after the gap
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+
+        values[gap] = null;
+        size--;
+
+        return removed;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    // Iteration >>>
+    // The map mustn't be changed while iterating, except for replacing values of existing keys
+
+    public void forEachKey(IntConsumer action) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                action.accept(keys[slot]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEachValue(Consumer<? super V> action) {
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Collect values into a new list
+     */
+    public ArrayList<V> values() {
+        ArrayList<V> list = new ArrayList<>(size);
+        forEachValue(list::add);
+
+        return list;
+    }
+
+    // <<< Iteration
+
+    /**
+     * Spread bits of the key by the golden ratio multiplication, so every key bit affects the low bits
+     */
+    static int hash(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        int mask = capacity - 1;
+        keys = new int[capacity];
+        values = new Object[capacity];
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+
+            int slot = hash(oldKeys[i]) & mask;
+
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
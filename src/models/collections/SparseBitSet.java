@@ -0,0 +1,125 @@
+package models.collections;
+
+import java.util.Arrays;
+
+/**
+ * Set of non-negative ints kept as bits in pages, which are made by their first value and dropped by their last one.
+ * So the memory follows the values in the set rather than the highest value ever added,
+ * except for a page reference per 4096 values, and values are walked in ascending order like bits of a BitSet.
+ */
+public class SparseBitSet {
+    private static final int pageBits = 12; // Values of a page, that's 64 longs
+    private static final int pageMask = (1 << pageBits) - 1;
+
+    private long[][] pages = new long[0][];
+    private int[] pageSizes = new int[0];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int value) {
+        int pageIndex = value >>> pageBits;
+
+        return value >= 0
+                && pageIndex < pages.length
+                && pages[pageIndex] != null
+                && (pages[pageIndex][(value & pageMask) >>> 6] & (1L << value)) != 0;
+    }
+
+    /**
+     * Add the value, returning false if it's already there
+     */
+    public boolean add(int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Values can't be negative, but it's " + value);
+        }
+
+        int pageIndex = value >>> pageBits;
+
+        if (pageIndex >= pages.length) {
+            int capacity = Math.max(pageIndex + 1, pages.length * 2);
+            pages = Arrays.copyOf(pages, capacity);
+            pageSizes = Arrays.copyOf(pageSizes, capacity);
+        }
+
+        if (pages[pageIndex] == null) {
+            pages[pageIndex] = new long[1 << (pageBits - 6)];
+        }
+
+        long[] page = pages[pageIndex];
+        int wordIndex = (value & pageMask) >>> 6;
+
+        if ((page[wordIndex] & (1L << value)) != 0) {
+            return false;
+        }
+
+        page[wordIndex] |= 1L << value;
+        pageSizes[pageIndex]++;
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Remove the value, returning false if it isn't there. The page is dropped with its last value.
+     */
+    public boolean remove(int value) {
+        if (!contains(value)) {
+            return false;
+        }
+
+        int pageIndex = value >>> pageBits;
+        pages[pageIndex][(value & pageMask) >>> 6] &= ~(1L << value);
+        size--;
+
+        if (--pageSizes[pageIndex] == 0) {
+            pages[pageIndex] = null;
+        }
+
+        return true;
+    }
+
+    /**
+     * Get the least value which isn't less than the given one, or -1 if there is no such value
+     */
+    public int next(int fromValue) {
+        int from = Math.max(fromValue, 0);
+
+        for (int pageIndex = from >>> pageBits; pageIndex < pages.length; pageIndex++, from = 0) {
+            long[] page = pages[pageIndex];
+
+            if (page == null) {
+                continue;
+            }
+
+            int wordIndex = (from & pageMask) >>> 6;
+            long word = page[wordIndex] & (-1L << from); // Only the lower 6 bits of "from" are used by the shift
+
+            while (true) {
+                if (word != 0) {
+                    return (pageIndex << pageBits) | (wordIndex << 6) | Long.numberOfTrailingZeros(word);
+                }
+
+                if (++wordIndex == page.length) {
+                    break;
+                }
+
+                word = page[wordIndex];
+            }
+        }
+
+        return -1;
+    }
+
+    public void clear() {
+        pages = new long[0][];
+        pageSizes = new int[0];
+        size = 0;
+    }
+}
@@ -9,5 +9,7 @@ public interface HistoryManager {
 
     void remove(int taskId);
 
+    void clear();
+
     ArrayList<Task> getHistory();
 }
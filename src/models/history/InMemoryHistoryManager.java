@@ -1,12 +1,16 @@
 package models.history;
 
+import models.collections.IntMap;
 import models.tasks.Task;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * The methods are synchronized, because the history is written by reading methods, which may run in parallel.
+ */
 public class InMemoryHistoryManager implements HistoryManager {
-    private final Map<Integer, Node> taskNodes = new HashMap<>();
+    private final IntMap<Node> taskNodes = new IntMap<>();
     private final Node preHead;
     private final Node postTail;
 
@@ -17,24 +21,24 @@ public class InMemoryHistoryManager implements HistoryManager {
     }
 
     @Override
-    public ArrayList<Task> getHistory() {
+    public synchronized ArrayList<Task> getHistory() {
         return getNodes()
                 .stream()
-                .map(node -> node.getValue().copy()) // Return copies to avoid changing by link
+                .map(Node::getValue) // Values are immutable snapshots, so they're shared
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
     @Override
-    public void add(Task task) {
+    public synchronized void add(Task task) {
         remove(task.getId());
         taskNodes.put(
                 task.getId(),
-                pushNode(new Node(task.copy()))
+                pushNode(new Node(task.snapshot())) // Frozen Tasks aren't copied
         );
     }
 
     @Override
-    public void remove(int taskId) {
+    public synchronized void remove(int taskId) {
         Node node = taskNodes.remove(taskId);
 
         if (node != null) {
@@ -42,6 +46,13 @@ public class InMemoryHistoryManager implements HistoryManager {
         }
     }
 
+    @Override
+    public synchronized void clear() {
+        taskNodes.clear();
+        preHead.setNext(postTail); // Dropped nodes are unreachable, so they aren't unlinked one by one
+        postTail.setPrev(preHead);
+    }
+
     // Node methods >>>
 
     private Node pushNode(Node node) {
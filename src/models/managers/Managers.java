@@ -2,8 +2,14 @@ package models.managers;
 
 import models.history.HistoryManager;
 import models.history.InMemoryHistoryManager;
+import models.managers.concurrent.ConcurrentTaskManager;
+import models.managers.filebacked.FileBackedConfig;
 import models.managers.filebacked.FileBackedTaskManager;
+import models.managers.filebacked.FlushPolicy;
+import models.managers.filebacked.SnapshotFormat;
+import models.managers.filebacked.StorageMode;
 import models.managers.inmemory.InMemoryTaskManager;
+import models.managers.offheap.OffHeapTaskManager;
 
 import java.io.File;
 
@@ -16,6 +22,46 @@ public class Managers {
         return new InMemoryTaskManager();
     }
 
+    /**
+     * Task Manager keeping Tasks out of the heap, it's for boards of millions of Tasks
+     */
+    public TaskManager getOffHeapTaskManager() {
+        return new OffHeapTaskManager();
+    }
+
+    public TaskManager getConcurrentTaskManager() {
+        return getConcurrentTaskManager(getDefault());
+    }
+
+    /**
+     * Make the Task Manager safe to be used by several threads
+     */
+    public TaskManager getConcurrentTaskManager(TaskManager taskManager) {
+        return new ConcurrentTaskManager(taskManager);
+    }
+
+    public TaskManager getDurableTaskManager() {
+        return getDurableTaskManager(makeFullFileName());
+    }
+
+    /**
+     * Thread-safe journaled Task Manager which returns from changing methods once the changes are on the disk.
+     * Changes of concurrent writers are written and forced at once.
+     */
+    public TaskManager getDurableTaskManager(String fullFileName) {
+        FileBackedTaskManager manager = getfileBackedTaskManager(
+                fullFileName,
+                new FileBackedConfig(
+                        StorageMode.JOURNAL,
+                        SnapshotFormat.BINARY,
+                        FileBackedConfig.makeDefault().getCompactionThreshold(),
+                        FlushPolicy.groupCommit()
+                )
+        );
+
+        return new ConcurrentTaskManager(manager, manager::flush);
+    }
+
     public FileBackedTaskManager getfileBackedTaskManager() {
         return getfileBackedTaskManager(makeFullFileName());
     }
@@ -24,6 +70,22 @@ public class Managers {
         return FileBackedTaskManager.loadFromFile(new File(fullFileName));
     }
 
+    public FileBackedTaskManager getfileBackedTaskManager(StorageMode storageMode) {
+        return getfileBackedTaskManager(makeFullFileName(), storageMode);
+    }
+
+    public FileBackedTaskManager getfileBackedTaskManager(String fullFileName, StorageMode storageMode) {
+        return getfileBackedTaskManager(fullFileName, FileBackedConfig.makeDefault(storageMode));
+    }
+
+    public FileBackedTaskManager getfileBackedTaskManager(FileBackedConfig config) {
+        return getfileBackedTaskManager(makeFullFileName(), config);
+    }
+
+    public FileBackedTaskManager getfileBackedTaskManager(String fullFileName, FileBackedConfig config) {
+        return FileBackedTaskManager.loadFromFile(new File(fullFileName), config);
+    }
+
     private String makeFullFileName() {
         return System.getProperty("java.io.tmpdir") // That's more configurable than using "File.createTempFile"
                 + File.separator
@@ -1,22 +1,70 @@
 package models.managers;
 
+import models.managers.batch.TaskBatch;
+import models.managers.query.TaskPage;
+import models.managers.query.TaskQuery;
+import models.managers.query.TaskStats;
+import models.managers.query.TimeSlot;
 import models.tasks.EpicTask;
 import models.tasks.SubTask;
 import models.tasks.Task;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+/**
+ * Manager of Regular, Epic and Sub Tasks.
+ * Getters, visitors and queries return stored Tasks as shared frozen snapshots rather than copies. Their setters throw
+ * UnsupportedOperationException, so a returned Task is changed by its copy(), which is passed to updateTask then.
+ */
 public interface TaskManager {
     ArrayList<Task> getTasks();
 
     ArrayList<Task> getPrioritizedTasks();
 
+    /**
+     * Prioritized Tasks overlapping the period, any bound may be null to leave it open
+     */
+    ArrayList<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to);
+
     ArrayList<EpicTask> getEpicTasks();
 
     ArrayList<SubTask> getSubTasks();
 
+    /*
+     * Visitors pass stored Tasks without copying them into a list.
+     * The Tasks are shared frozen snapshots, so they may be kept by the action,
+     * but the action may be run under locks of the manager, so it mustn't block.
+     */
+
+    void forEachTask(Consumer<? super Task> action);
+
+    void forEachPrioritizedTask(Consumer<? super Task> action);
+
+    void forEachEpicTask(Consumer<? super EpicTask> action);
+
+    void forEachSubTask(Consumer<? super SubTask> action);
+
+    void forEachEpicSubTask(int epicId, Consumer<? super SubTask> action);
+
+    /*
+     * Queries return the matched Tasks of one page as shared frozen snapshots,
+     * they stop looking for Tasks once the page is full.
+     * Pages are ordered by IDs, prioritized ones are ordered by start time.
+     */
+
+    TaskPage<Task> findTasks(TaskQuery query);
+
+    TaskPage<EpicTask> findEpicTasks(TaskQuery query);
+
+    TaskPage<SubTask> findSubTasks(TaskQuery query);
+
+    TaskPage<Task> findPrioritizedTasks(TaskQuery query);
+
     void removeTasks();
 
     void removeEpicTasks();
@@ -29,6 +77,20 @@ public interface TaskManager {
 
     Optional<SubTask> getSubTask(int id);
 
+    /**
+     * Get the Task like getTask, but without adding it to the history
+     */
+    Optional<Task> peekTask(int id);
+
+    Optional<EpicTask> peekEpicTask(int id);
+
+    Optional<SubTask> peekSubTask(int id);
+
+    /**
+     * Check if there is a Task of any type with the ID, the history isn't changed
+     */
+    boolean exists(int id);
+
     void removeTask(int id);
 
     Task createTask(Task attributes);
@@ -37,6 +99,16 @@ public interface TaskManager {
 
     SubTask createTask(SubTask attributes);
 
+    /**
+     * Create the Task, the auto scheduled Task is moved to the earliest free period not before its start time
+     */
+    Task createTask(Task attributes, boolean isAutoScheduled);
+
+    /**
+     * Create the Sub Task, the auto scheduled Sub Task is moved to the earliest free period not before its start time
+     */
+    SubTask createTask(SubTask attributes, boolean isAutoScheduled);
+
     void updateTask(Task attributes);
 
     void updateTask(EpicTask attributes);
@@ -47,6 +119,22 @@ public interface TaskManager {
 
     List<Task> getHistory();
 
+    /**
+     * Find the earliest period of the duration not before the time, which doesn't intersect with prioritized Tasks
+     */
+    TimeSlot findFreeSlot(LocalDateTime notBefore, Duration duration);
+
+    /**
+     * Aggregate counts and durations of Tasks by statuses and counts of Sub Tasks by Epics
+     */
+    TaskStats getStats();
+
+    /**
+     * Apply the batch atomically: if an item can't be applied or Tasks would intersect, nothing is changed.
+     * Results follow the items: created Tasks, updated Tasks and removed Tasks.
+     */
+    List<Task> applyBatch(TaskBatch batch);
+
     boolean isEmpty();
 
     void removeAllTasks();
@@ -0,0 +1,10 @@
+package models.managers.batch;
+
+/**
+ * Change made by an item of a batch
+ */
+public enum BatchOperation {
+    CREATE, // The Task gets a new ID, Sub Tasks refer to existing Epics
+    UPDATE, // The Task is found by its ID and filled like by updating
+    REMOVE // The Task is removed by its ID, Epics are removed with their Sub Tasks
+}
@@ -0,0 +1,71 @@
+package models.managers.batch;
+
+import models.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes of Tasks of any types applied at once.
+ * Items are applied in order, and they may touch the same Tasks. Either all of them are applied or none.
+ */
+public class TaskBatch {
+    private final ArrayList<Item> items = new ArrayList<>();
+
+    public TaskBatch create(Task attributes) {
+        items.add(new Item(BatchOperation.CREATE, attributes, 0));
+        return this;
+    }
+
+    public TaskBatch update(Task attributes) {
+        items.add(new Item(BatchOperation.UPDATE, attributes, attributes.getId()));
+        return this;
+    }
+
+    public TaskBatch remove(int id) {
+        items.add(new Item(BatchOperation.REMOVE, null, id));
+        return this;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public static class Item {
+        private final BatchOperation operation;
+        private final Task task;
+        private final int id;
+
+        public Item(BatchOperation operation, Task task, int id) {
+            this.operation = operation;
+            this.task = task;
+            this.id = id;
+        }
+
+        public BatchOperation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Attributes of the created or updated Task, it's null for removing
+         */
+        public Task getTask() {
+            return task;
+        }
+
+        /**
+         * ID of the updated or removed Task, it's 0 for creating
+         */
+        public int getId() {
+            return id;
+        }
+    }
+}
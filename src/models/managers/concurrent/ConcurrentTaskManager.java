@@ -0,0 +1,317 @@
+package models.managers.concurrent;
+
+import models.managers.TaskManager;
+import models.managers.batch.TaskBatch;
+import models.managers.query.TaskPage;
+import models.managers.query.TaskQuery;
+import models.managers.query.TaskStats;
+import models.managers.query.TimeSlot;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Thread-safe wrapper of another Task Manager.
+ * Reads share the lock, so they run in parallel. Every write holds the exclusive lock for the whole operation,
+ * including the intersection check and the Epic recalculation, so writes are linearizable.
+ */
+public class ConcurrentTaskManager implements TaskManager {
+    private final TaskManager taskManager;
+    private final Runnable commitBarrier;
+    private final StampedLock lock = new StampedLock();
+
+    public ConcurrentTaskManager(TaskManager taskManager) {
+        this(taskManager, () -> {});
+    }
+
+    /**
+     * The barrier is run after every write once the lock is released, e.g. to wait for changes being saved.
+     * So slow saving doesn't block other threads, and changes of several writers may be saved at once.
+     */
+    public ConcurrentTaskManager(TaskManager taskManager, Runnable commitBarrier) {
+        this.taskManager = taskManager;
+        this.commitBarrier = commitBarrier;
+    }
+
+    // List getters >>>
+
+    @Override
+    public ArrayList<Task> getTasks() {
+        return read(taskManager::getTasks);
+    }
+
+    @Override
+    public ArrayList<Task> getPrioritizedTasks() {
+        return read(() -> taskManager.getPrioritizedTasks());
+    }
+
+    @Override
+    public ArrayList<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        return read(() -> taskManager.getPrioritizedTasks(from, to));
+    }
+
+    @Override
+    public ArrayList<EpicTask> getEpicTasks() {
+        return read(taskManager::getEpicTasks);
+    }
+
+    @Override
+    public ArrayList<SubTask> getSubTasks() {
+        return read(taskManager::getSubTasks);
+    }
+
+    // <<< List getters
+
+    // List visitors >>>
+    // The read lock is held while the action runs, so slow actions delay writers
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        read(() -> taskManager.forEachTask(action));
+    }
+
+    @Override
+    public void forEachPrioritizedTask(Consumer<? super Task> action) {
+        read(() -> taskManager.forEachPrioritizedTask(action));
+    }
+
+    @Override
+    public void forEachEpicTask(Consumer<? super EpicTask> action) {
+        read(() -> taskManager.forEachEpicTask(action));
+    }
+
+    @Override
+    public void forEachSubTask(Consumer<? super SubTask> action) {
+        read(() -> taskManager.forEachSubTask(action));
+    }
+
+    @Override
+    public void forEachEpicSubTask(int epicId, Consumer<? super SubTask> action) {
+        read(() -> taskManager.forEachEpicSubTask(epicId, action));
+    }
+
+    // <<< List visitors
+
+    // Queries >>>
+
+    @Override
+    public TaskPage<Task> findTasks(TaskQuery query) {
+        return read(() -> taskManager.findTasks(query));
+    }
+
+    @Override
+    public TaskPage<EpicTask> findEpicTasks(TaskQuery query) {
+        return read(() -> taskManager.findEpicTasks(query));
+    }
+
+    @Override
+    public TaskPage<SubTask> findSubTasks(TaskQuery query) {
+        return read(() -> taskManager.findSubTasks(query));
+    }
+
+    @Override
+    public TaskPage<Task> findPrioritizedTasks(TaskQuery query) {
+        return read(() -> taskManager.findPrioritizedTasks(query));
+    }
+
+    // <<< Queries
+
+    // List removers >>>
+
+    @Override
+    public void removeTasks() {
+        write(taskManager::removeTasks);
+    }
+
+    @Override
+    public void removeEpicTasks() {
+        write(taskManager::removeEpicTasks);
+    }
+
+    @Override
+    public void removeSubTasks() {
+        write(taskManager::removeSubTasks);
+    }
+
+    // <<< List removers
+
+    // One model getters >>>
+    // The history is written by the getters, so it must be thread-safe itself
+
+    @Override
+    public Optional<Task> getTask(int id) {
+        return read(() -> taskManager.getTask(id));
+    }
+
+    @Override
+    public Optional<EpicTask> getEpicTask(int id) {
+        return read(() -> taskManager.getEpicTask(id));
+    }
+
+    @Override
+    public Optional<SubTask> getSubTask(int id) {
+        return read(() -> taskManager.getSubTask(id));
+    }
+
+    @Override
+    public Optional<Task> peekTask(int id) {
+        return read(() -> taskManager.peekTask(id));
+    }
+
+    @Override
+    public Optional<EpicTask> peekEpicTask(int id) {
+        return read(() -> taskManager.peekEpicTask(id));
+    }
+
+    @Override
+    public Optional<SubTask> peekSubTask(int id) {
+        return read(() -> taskManager.peekSubTask(id));
+    }
+
+    @Override
+    public boolean exists(int id) {
+        return read(() -> taskManager.exists(id));
+    }
+
+    // <<< One model getters
+
+    // Common methods >>>
+
+    @Override
+    public void removeTask(int id) {
+        write(() -> taskManager.removeTask(id));
+    }
+
+    @Override
+    public void removeAllTasks() {
+        write(taskManager::removeAllTasks);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return read(taskManager::isEmpty);
+    }
+
+    @Override
+    public ArrayList<SubTask> getEpicSubTasks(int epicId) {
+        return read(() -> taskManager.getEpicSubTasks(epicId));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return read(taskManager::getHistory);
+    }
+
+    @Override
+    public TimeSlot findFreeSlot(LocalDateTime notBefore, Duration duration) {
+        return read(() -> taskManager.findFreeSlot(notBefore, duration));
+    }
+
+    @Override
+    public TaskStats getStats() {
+        return read(taskManager::getStats);
+    }
+
+    @Override
+    public List<Task> applyBatch(TaskBatch batch) {
+        return write(() -> taskManager.applyBatch(batch));
+    }
+
+    // <<< Common methods
+
+    /* Overloaded methods >>> */
+
+    @Override
+    public Task createTask(Task attributes) {
+        return write(() -> taskManager.createTask(attributes));
+    }
+
+    @Override
+    public EpicTask createTask(EpicTask attributes) {
+        return write(() -> taskManager.createTask(attributes));
+    }
+
+    @Override
+    public SubTask createTask(SubTask attributes) {
+        return write(() -> taskManager.createTask(attributes));
+    }
+
+    @Override
+    public Task createTask(Task attributes, boolean isAutoScheduled) {
+        return write(() -> taskManager.createTask(attributes, isAutoScheduled));
+    }
+
+    @Override
+    public SubTask createTask(SubTask attributes, boolean isAutoScheduled) {
+        return write(() -> taskManager.createTask(attributes, isAutoScheduled));
+    }
+
+    @Override
+    public void updateTask(Task attributes) {
+        write(() -> taskManager.updateTask(attributes));
+    }
+
+    @Override
+    public void updateTask(EpicTask attributes) {
+        write(() -> taskManager.updateTask(attributes));
+    }
+
+    @Override
+    public void updateTask(SubTask attributes) {
+        write(() -> taskManager.updateTask(attributes));
+    }
+
+    /* <<< Overloaded methods */
+
+    // Locking >>>
+
+    private <T> T read(Supplier<T> reading) {
+        long stamp = lock.readLock();
+
+        try {
+            return reading.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void read(Runnable reading) {
+        read(() -> {
+            reading.run();
+            return null;
+        });
+    }
+
+    private <T> T write(Supplier<T> writing) {
+        long stamp = lock.writeLock();
+        T result;
+
+        try {
+            result = writing.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        commitBarrier.run();
+
+        return result;
+    }
+
+    private void write(Runnable writing) {
+        write(() -> {
+            writing.run();
+            return null;
+        });
+    }
+
+    // <<< Locking
+}
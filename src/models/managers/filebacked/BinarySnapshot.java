@@ -0,0 +1,331 @@
+package models.managers.filebacked;
+
+import models.tasks.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Binary file of Tasks.
+ * Header:
+ * - Magic bytes "KNBN"
+ * - Version byte
+ * - Numbers of Regular, Epic and Sub Tasks as ints
+ * Then Regular, Epic and Sub Tasks, each of them is:
+ * - Type byte
+ * - ID varint
+ * - Status byte
+ * - Epic ID varint, only for Sub Tasks
+ * - Name and description: varint of length + 1 (0 for null), then UTF-8 bytes
+ * - Epoch seconds of start time as long
+ * - Seconds of duration as long
+ */
+public class BinarySnapshot {
+    private static final int magic = 0x4B4E424E; // "KNBN"
+    private static final byte version = 1;
+    private static final int headerSize = Integer.BYTES + 1 + Integer.BYTES * 3;
+    private static final int bufferSize = 64 * 1024;
+    private static final TaskType[] taskTypes = TaskType.values();
+    private static final TaskStatus[] taskStatuses = TaskStatus.values();
+
+    /**
+     * Check if the file starts as a binary snapshot
+     */
+    public static boolean isBinary(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // Read the magic bytes
+            }
+
+            return !buffer.hasRemaining() && buffer.flip().getInt() == magic;
+        }
+    }
+
+    public static void write(
+            Path filePath,
+            Collection<Task> tasks,
+            Collection<EpicTask> epicTasks,
+            Collection<SubTask> subTasks
+    ) throws IOException {
+        try (
+                FileChannel channel = FileChannel.open(
+                        filePath,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING
+                )
+        ) {
+            Writer writer = new Writer(channel);
+            writer.buffer
+                    .putInt(magic)
+                    .put(version)
+                    .putInt(tasks.size())
+                    .putInt(epicTasks.size())
+                    .putInt(subTasks.size());
+
+            for (Task task : tasks) writer.writeTask(task);
+            for (Task task : epicTasks) writer.writeTask(task);
+            for (Task task : subTasks) writer.writeTask(task);
+
+            writer.flush();
+        }
+    }
+
+    public static List<Task> read(Path filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            Reader reader = new Reader(channel);
+            reader.require(headerSize);
+
+            if (reader.buffer.getInt() != magic) {
+                throw new IOException("Not a binary snapshot");
+            }
+
+            byte fileVersion = reader.buffer.get();
+
+            if (fileVersion != version) {
+                throw new IOException("Unsupported snapshot version " + fileVersion);
+            }
+
+            int count = reader.buffer.getInt() + reader.buffer.getInt() + reader.buffer.getInt();
+            ArrayList<Task> tasks = new ArrayList<>(count);
+
+            for (int i = 0; i < count; i++) {
+                tasks.add(reader.readTask());
+            }
+
+            return tasks;
+        }
+    }
+
+    /**
+     * Encode the Task as it's written to snapshots, e.g. for journal records
+     */
+    static byte[] encodeTask(Task task) {
+        try {
+            Writer writer = new Writer(null);
+            writer.writeTask(task);
+
+            return Arrays.copyOf(writer.buffer.array(), writer.buffer.position());
+        } catch (IOException e) { // Nothing is written to channels
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decode the Task encoded by {@link #encodeTask(Task)} from the buffer position
+     */
+    static Task decodeTask(ByteBuffer buffer) throws IOException {
+        try {
+            return new Reader(buffer).readTask();
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IOException("Malformed Task");
+        }
+    }
+
+    private static class Writer {
+        private final FileChannel channel; // Without channels the buffer grows instead of being flushed
+        private ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+
+        public Writer(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        public void writeTask(Task task) throws IOException {
+            byte[] name = encode(task.getName());
+            byte[] description = encode(task.getDescription());
+            TaskType type = switch (task) {
+                case EpicTask epicTask -> TaskType.EPIC;
+                case SubTask subTask -> TaskType.SUB;
+                case Task regularTask -> TaskType.REGULAR;
+            };
+
+            require(1 + 5 + 1 + 5);
+            buffer.put((byte) type.ordinal());
+            putVarInt(task.getId());
+            buffer.put((byte) task.getStatus().ordinal());
+
+            if (task instanceof SubTask subTask) {
+                putVarInt(subTask.getEpicId());
+            }
+
+            putString(name);
+            putString(description);
+
+            require(Long.BYTES * 2);
+            buffer.putLong(task.getStartEpochSecond());
+            buffer.putLong(task.getDurationSeconds());
+        }
+
+        public void flush() throws IOException {
+            buffer.flip();
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            buffer.clear();
+        }
+
+        private void require(int size) throws IOException {
+            if (buffer.remaining() >= size) {
+                return;
+            }
+
+            if (channel == null) {
+                buffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + size)).put(buffer.flip());
+            } else {
+                flush();
+            }
+        }
+
+        private void putString(byte[] bytes) throws IOException {
+            require(5);
+            putVarInt(bytes == null ? 0 : bytes.length + 1);
+
+            if (bytes == null) {
+                return;
+            }
+
+            if (channel != null && bytes.length > buffer.capacity()) { // Too long to be buffered
+                flush();
+                ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+
+                while (wrapped.hasRemaining()) {
+                    channel.write(wrapped);
+                }
+
+                return;
+            }
+
+            require(bytes.length);
+            buffer.put(bytes);
+        }
+
+        private void putVarInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+
+            buffer.put((byte) value);
+        }
+
+        private static byte[] encode(String value) {
+            return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class Reader {
+        private final FileChannel channel; // Without channels only the buffer is read
+        private ByteBuffer buffer;
+
+        public Reader(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferSize).flip(); // Nothing is read yet
+        }
+
+        public Reader(ByteBuffer buffer) {
+            this.channel = null;
+            this.buffer = buffer;
+        }
+
+        public Task readTask() throws IOException {
+            require(1 + 5 + 1 + 5);
+            TaskType type = taskTypes[buffer.get()];
+            int id = getVarInt();
+            TaskStatus status = taskStatuses[buffer.get()];
+            int epicId = type == TaskType.SUB ? getVarInt() : 0;
+            String name = getString();
+            String description = getString();
+
+            require(Long.BYTES * 2);
+            LocalDateTime startTime = LocalDateTime.ofEpochSecond(buffer.getLong(), 0, ZoneOffset.UTC);
+            Duration duration = Duration.ofSeconds(buffer.getLong());
+
+            Task task = switch (type) {
+                case REGULAR -> new Task(id, name, description, startTime, duration);
+                case SUB -> new SubTask(id, epicId, name, description, startTime, duration);
+                case EPIC -> new EpicTask(id, name, description);
+            };
+
+            task.setStatus(status);
+
+            return task;
+        }
+
+        /**
+         * Make sure the buffer has the number of bytes, unless the file ends before
+         */
+        public void require(int size) throws IOException {
+            if (buffer.remaining() >= size || channel == null) {
+                return;
+            }
+
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(size).put(buffer).flip();
+            }
+
+            buffer.compact();
+
+            while (buffer.position() < size && channel.read(buffer) > 0) {
+                // Fill the buffer as much as possible
+            }
+
+            buffer.flip();
+        }
+
+        private String getString() throws IOException {
+            require(5);
+            int length = getVarInt() - 1;
+
+            if (length < 0) {
+                return null;
+            }
+
+            require(length);
+
+            if (buffer.remaining() < length) {
+                throw new IOException("Unexpected end of snapshot");
+            }
+
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+
+            return value;
+        }
+
+        private int getVarInt() throws IOException {
+            int value = 0;
+
+            for (int shift = 0; shift < 32; shift += 7) {
+                if (!buffer.hasRemaining()) {
+                    throw new IOException("Unexpected end of snapshot");
+                }
+
+                byte part = buffer.get();
+                value |= (part & 0x7F) << shift;
+
+                if ((part & 0x80) == 0) {
+                    return value;
+                }
+            }
+
+            throw new IOException("Malformed varint");
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package models.managers.filebacked;
+
+public class FileBackedConfig {
+    private static final long defaultCompactionThreshold = 1024 * 1024; // Bytes of the journal
+    private final StorageMode storageMode;
+    private final SnapshotFormat snapshotFormat;
+    private final long compactionThreshold;
+    private final FlushPolicy flushPolicy;
+
+    public FileBackedConfig(
+            StorageMode storageMode,
+            SnapshotFormat snapshotFormat,
+            long compactionThreshold
+    ) {
+        this(storageMode, snapshotFormat, compactionThreshold, FlushPolicy.immediate());
+    }
+
+    public FileBackedConfig(
+            StorageMode storageMode,
+            SnapshotFormat snapshotFormat,
+            long compactionThreshold,
+            FlushPolicy flushPolicy
+    ) {
+        this.storageMode = storageMode;
+        this.snapshotFormat = snapshotFormat;
+        this.compactionThreshold = compactionThreshold;
+        this.flushPolicy = flushPolicy;
+    }
+
+    public static FileBackedConfig makeDefault() {
+        return makeDefault(StorageMode.SNAPSHOT);
+    }
+
+    public static FileBackedConfig makeDefault(StorageMode storageMode) {
+        return new FileBackedConfig(storageMode, SnapshotFormat.CSV, defaultCompactionThreshold);
+    }
+
+    public StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    public SnapshotFormat getSnapshotFormat() {
+        return snapshotFormat;
+    }
+
+    /**
+     * Size of the journal in bytes after which it's folded into the file
+     */
+    public long getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+}
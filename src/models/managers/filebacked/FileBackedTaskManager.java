@@ -1,5 +1,7 @@
 package models.managers.filebacked;
 
+import models.managers.batch.BatchOperation;
+import models.managers.batch.TaskBatch;
 import models.managers.filebacked.exceptions.ManagerLoadException;
 import models.managers.filebacked.exceptions.ManagerSaveException;
 import models.managers.inmemory.InMemoryTaskManager;
@@ -9,130 +11,578 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
     private static final Charset fileEncoding = StandardCharsets.UTF_8;
     private static final String csvColumnSeparator = ",";
+    private static final String journalFileSuffix = ".journal";
     private final String fullFileName;
+    private final FileBackedConfig config;
+    private final Object changesLock = new Object(); // Held while Tasks are changed or collected to be written
+    private final Object flushLock = new Object(); // Held while changes are written
+    private final ArrayList<byte[]> pendingRecords = new ArrayList<>(); // Journal records which aren't written yet
+    private long pendingRecordsSize = 0;
+    private int pendingOperations = 0;
+    private int pendingClearings = 0; // Bulk removals, which are saved by one snapshot
+    private long journalSize = 0;
+    private long writesNumber = 0; // Appends and snapshots written, to check batching of changes
+    private final ScheduledExecutorService persister; // Background writer, only for write-behind flushing
+    private final AtomicBoolean isPersisterStarted = new AtomicBoolean(false);
+    private final AtomicBoolean isFlushRequested = new AtomicBoolean(false);
+    private volatile ManagerSaveException backgroundException;
 
     public FileBackedTaskManager(String fullFileName) {
+        this(fullFileName, FileBackedConfig.makeDefault());
+    }
+
+    public FileBackedTaskManager(String fullFileName, FileBackedConfig config) {
         this.fullFileName = fullFileName;
+        this.config = config;
+        this.persister = config.getFlushPolicy().isImmediate() ? null : makePersister();
     }
 
-    public Task createTask(Task attributes) {
-        Task task = super.createTask(attributes);
-        save();
+    @Override
+    public Task createTask(Task attributes, boolean isAutoScheduled) {
+        Task task;
+
+        synchronized (changesLock) {
+            task = super.createTask(attributes, isAutoScheduled);
+            saveTask(task);
+        }
+
+        onChanged();
         return task;
     }
 
     @Override
     public EpicTask createTask(EpicTask attributes) {
-        EpicTask subTask = super.createTask(attributes);
-        save();
-        return subTask;
+        EpicTask epicTask;
+
+        synchronized (changesLock) {
+            epicTask = super.createTask(attributes);
+            saveTask(epicTask);
+        }
+
+        onChanged();
+        return epicTask;
     }
 
     @Override
-    public SubTask createTask(SubTask attributes) {
-        SubTask subTask = super.createTask(attributes);
-        save();
+    public SubTask createTask(SubTask attributes, boolean isAutoScheduled) {
+        SubTask subTask;
+
+        synchronized (changesLock) {
+            subTask = super.createTask(attributes, isAutoScheduled);
+            saveTask(subTask);
+        }
+
+        onChanged();
         return subTask;
     }
 
     @Override
     public void updateTask(Task attributes) {
-        super.updateTask(attributes);
-        save();
+        synchronized (changesLock) {
+            super.updateTask(attributes);
+            saveTask(attributes.getId());
+        }
+
+        onChanged();
     }
 
     @Override
     public void updateTask(EpicTask attributes) {
-        super.updateTask(attributes);
-        save();
+        synchronized (changesLock) {
+            super.updateTask(attributes);
+            saveTask(attributes.getId());
+        }
+
+        onChanged();
     }
 
     @Override
     public void updateTask(SubTask attributes) {
-        super.updateTask(attributes);
-        save();
+        synchronized (changesLock) {
+            super.updateTask(attributes);
+            saveTask(attributes.getId());
+        }
+
+        onChanged();
     }
 
     @Override
     public void removeTask(int id) {
-        super.removeTask(id);
-        save();
+        synchronized (changesLock) {
+            super.removeTask(id);
+            saveRemoval(id);
+        }
+
+        onChanged();
+    }
+
+    @Override
+    public void removeTasks() {
+        synchronized (changesLock) {
+            super.removeTasks();
+            saveClearing();
+        }
+
+        onChanged();
+    }
+
+    @Override
+    public void removeEpicTasks() {
+        synchronized (changesLock) {
+            super.removeEpicTasks();
+            saveClearing();
+        }
+
+        onChanged();
+    }
+
+    @Override
+    public void removeSubTasks() {
+        synchronized (changesLock) {
+            super.removeSubTasks();
+            saveClearing();
+        }
+
+        onChanged();
+    }
+
+    @Override
+    public void removeAllTasks() {
+        synchronized (changesLock) {
+            super.removeAllTasks();
+            saveClearing();
+        }
+
+        onChanged();
+    }
+
+    /**
+     * Save changes of the whole batch, so they're written at once
+     */
+    @Override
+    public ArrayList<Task> applyBatch(TaskBatch batch) {
+        ArrayList<Task> results;
+
+        synchronized (changesLock) {
+            results = super.applyBatch(batch);
+
+            for (int i = 0; i < results.size(); i++) {
+                TaskBatch.Item item = batch.getItems().get(i);
+
+                if (item.getOperation() == BatchOperation.REMOVE) {
+                    saveRemoval(item.getId());
+                } else {
+                    saveTask(results.get(i)); // Epics of Sub Tasks are recalculated by replaying
+                }
+            }
+        }
+
+        onChanged();
+        return results;
     }
 
     public String getFullFileName() {
         return fullFileName;
     }
 
-    private void save() {
+    public String getJournalFileName() {
+        return fullFileName + journalFileSuffix;
+    }
+
+    /**
+     * Write all pending changes and wait for it.
+     * It also throws the error of the last failed background writing if there is one.
+     */
+    public void flush() {
+        flushChanges();
+
+        ManagerSaveException exception = backgroundException;
+
+        if (exception != null) {
+            backgroundException = null;
+            throw exception;
+        }
+    }
+
+    /**
+     * Fold the journal into the file
+     */
+    public void compact() {
+        synchronized (flushLock) {
+            TakenChanges changes;
+            Snapshot snapshot;
+
+            synchronized (changesLock) {
+                changes = takeChanges();
+                snapshot = takeSnapshot();
+            }
+
+            writeSnapshot(snapshot);
+
+            synchronized (changesLock) {
+                dropChanges(changes);
+            }
+        }
+    }
+
+    /**
+     * Write pending changes and stop the background writing, so later changes are written at once
+     */
+    @Override
+    public void close() {
+        if (persister != null) {
+            persister.shutdown();
+        }
+
+        flush();
+    }
+
+    long getWritesNumber() {
+        synchronized (flushLock) {
+            return writesNumber;
+        }
+    }
+
+    // Saving >>>
+    // Changes are collected while holding the changes lock, then they are written outside it
+
+    private void saveTask(int id) {
+        saveTask(findStoredTask(id).orElseThrow());
+    }
+
+    private void saveTask(Task task) {
+        pendingOperations++;
+
+        if (config.getStorageMode() == StorageMode.JOURNAL) {
+            addRecord(Journal.makePutRecord(task));
+        }
+    }
+
+    private void saveRemoval(int id) {
+        pendingOperations++;
+
+        if (config.getStorageMode() == StorageMode.JOURNAL) {
+            addRecord(Journal.makeRemovalRecord(id));
+        }
+    }
+
+    /**
+     * Save a bulk removal by the next snapshot instead of removals of every Task.
+     * The snapshot includes pending records, and the file is just removed if no Tasks are left.
+     */
+    private void saveClearing() {
+        pendingOperations++;
+        pendingClearings++;
+    }
+
+    private void addRecord(byte[] record) {
+        pendingRecords.add(record);
+        pendingRecordsSize += record.length;
+    }
+
+    private void onChanged() {
+        FlushPolicy flushPolicy = config.getFlushPolicy();
+
+        if (flushPolicy.isImmediate() || persister.isShutdown()) { // Closed managers don't write in the background
+            flushChanges();
+            return;
+        }
+
+        boolean isFlushDue;
+
+        synchronized (changesLock) {
+            isFlushDue = flushPolicy.getOperations() > 0 && pendingOperations >= flushPolicy.getOperations();
+        }
+
+        startPersister(flushPolicy);
+
+        if (isFlushDue) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * Schedule flushing by the interval. It's done by the first change instead of the constructor,
+     * which mustn't pass the manager to the background thread before it's constructed.
+     */
+    private void startPersister(FlushPolicy flushPolicy) {
+        if (flushPolicy.getIntervalMillis() > 0 && isPersisterStarted.compareAndSet(false, true)) {
+            try {
+                persister.scheduleWithFixedDelay(
+                        this::flushInBackground,
+                        flushPolicy.getIntervalMillis(),
+                        flushPolicy.getIntervalMillis(),
+                        TimeUnit.MILLISECONDS
+                );
+            } catch (RejectedExecutionException e) { // Closed meanwhile, so the change is written by close()
+            }
+        }
+    }
+
+    private void requestFlush() {
+        if (isFlushRequested.compareAndSet(false, true)) { // Changes made before the flush are coalesced into it
+            try {
+                persister.execute(() -> {
+                    isFlushRequested.set(false);
+                    flushInBackground();
+                });
+            } catch (RejectedExecutionException e) { // Closed meanwhile, so the change is written by close()
+                isFlushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushInBackground() {
+        try {
+            flushChanges();
+        } catch (ManagerSaveException e) {
+            backgroundException = e;
+        }
+    }
+
+    /**
+     * Write pending changes, which are kept until they're written.
+     * So if the writing fails, the changes of every writer are written by the next flush or they fail it as well.
+     */
+    private void flushChanges() {
+        synchronized (flushLock) {
+            TakenChanges changes;
+            byte[] records = null;
+            Snapshot snapshot = null;
+
+            synchronized (changesLock) {
+                if (pendingOperations == 0) {
+                    return;
+                }
+
+                changes = takeChanges();
+
+                if (
+                        config.getStorageMode() == StorageMode.JOURNAL
+                                && pendingClearings == 0
+                                && !isEmpty() // Otherwise there is nothing to replay, so the files are just removed
+                                && journalSize + pendingRecordsSize <= config.getCompactionThreshold()
+                ) {
+                    records = joinRecords();
+                } else {
+                    snapshot = takeSnapshot();
+                }
+            }
+
+            if (records != null) {
+                appendRecords(records);
+            } else {
+                writeSnapshot(snapshot);
+            }
+
+            synchronized (changesLock) {
+                dropChanges(changes);
+            }
+        }
+    }
+
+    private TakenChanges takeChanges() {
+        return new TakenChanges(pendingRecords.size(), pendingRecordsSize, pendingOperations, pendingClearings);
+    }
+
+    private byte[] joinRecords() {
+        byte[] header = journalSize == 0 ? Journal.makeHeader() : new byte[0]; // The journal is started by the append
+        ByteBuffer records = ByteBuffer.allocate(header.length + (int) pendingRecordsSize).put(header);
+        pendingRecords.forEach(records::put);
+
+        return records.array();
+    }
+
+    private Snapshot takeSnapshot() {
+        return new Snapshot(getTasks(), getEpicTasks(), getSubTasks()); // Pending changes are included
+    }
+
+    /**
+     * Drop written changes, keeping ones made while they were written
+     */
+    private void dropChanges(TakenChanges changes) {
+        pendingRecords.subList(0, changes.recordsNumber).clear();
+        pendingRecordsSize -= changes.recordsSize;
+        pendingOperations -= changes.operations;
+        pendingClearings -= changes.clearings;
+    }
+
+    /**
+     * Write records after the complete part of the journal, overwriting the rest of failed appends
+     */
+    private void appendRecords(byte[] records) {
+        boolean isCreated = journalSize == 0; // Otherwise the journal is already linked durably
+
         try (
-                BufferedWriter bufferedWriter = new BufferedWriter(
-                        new FileWriter(
-                                fullFileName,
-                                StandardCharsets.UTF_8
-                        )
+                FileChannel channel = FileChannel.open(
+                        Paths.get(getJournalFileName()),
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE
                 )
         ) {
-            for (Task task : getTasks()) writeTask(bufferedWriter, task);
-            for (EpicTask task : getEpicTasks()) writeTask(bufferedWriter, task);
-            for (SubTask task : getSubTasks()) writeTask(bufferedWriter, task);
+            channel.truncate(journalSize);
+            channel.position(journalSize);
+            ByteBuffer buffer = ByteBuffer.wrap(records);
+
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+
+            if (config.getFlushPolicy().isDurable()) {
+                channel.force(false);
+
+                if (isCreated) {
+                    forceDirectory();
+                }
+            }
         } catch (IOException e) {
             throw new ManagerSaveException(e.getMessage());
         }
 
-        if (isEmpty()) { // Remove the file if it's empty, just to not spam the folder by empty files
-            try {
-                Files.deleteIfExists(Paths.get(fullFileName));
-            } catch (IOException e) {
-                throw new ManagerSaveException(e.getMessage());
+        journalSize += records.length;
+        writesNumber++;
+    }
+
+    /**
+     * Replace the file by the snapshot and remove the journal, which is included in the snapshot
+     */
+    private void writeSnapshot(Snapshot snapshot) {
+        Path filePath = Paths.get(fullFileName);
+        Path tmpFilePath = Paths.get(fullFileName + ".tmp"); // Replace the file at once to not leave it half-written
+
+        try {
+            if (snapshot.isEmpty()) { // Remove the file if it's empty, just to not spam the folder by empty files
+                Files.deleteIfExists(filePath);
+            } else {
+                switch (config.getSnapshotFormat()) {
+                    case CSV -> writeCsv(tmpFilePath, snapshot);
+                    case BINARY -> BinarySnapshot.write(tmpFilePath, snapshot.tasks, snapshot.epicTasks, snapshot.subTasks);
+                }
+
+                if (config.getFlushPolicy().isDurable()) {
+                    try (FileChannel channel = FileChannel.open(tmpFilePath, StandardOpenOption.WRITE)) {
+                        channel.force(true);
+                    }
+                }
+
+                Files.move(tmpFilePath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            Files.deleteIfExists(Paths.get(getJournalFileName()));
+
+            if (config.getFlushPolicy().isDurable()) {
+                forceDirectory();
             }
+
+            journalSize = 0;
+            writesNumber++;
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
         }
     }
 
+    /**
+     * Write entries of the folder to the storage, since moved, created and deleted files are only its entries
+     */
+    private void forceDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fullFileName).toAbsolutePath().getParent())) {
+            channel.force(true);
+        }
+    }
+
+    private void writeCsv(Path filePath, Snapshot snapshot) throws IOException {
+        try (
+                BufferedWriter bufferedWriter = new BufferedWriter(
+                        new FileWriter(
+                                filePath.toFile(),
+                                fileEncoding
+                        )
+                )
+        ) {
+            for (Task task : snapshot.tasks) writeTask(bufferedWriter, task);
+            for (EpicTask task : snapshot.epicTasks) writeTask(bufferedWriter, task);
+            for (SubTask task : snapshot.subTasks) writeTask(bufferedWriter, task);
+        }
+    }
+
+    // <<< Saving
+
+    // Loading >>>
+
     public static FileBackedTaskManager loadFromFile(File file) {
-        Path filePath = Paths.get(file.getPath());
+        return loadFromFile(file, StorageMode.SNAPSHOT);
+    }
 
-        FileBackedTaskManager manager = new FileBackedTaskManager(file.getPath());
+    public static FileBackedTaskManager loadFromFile(File file, StorageMode storageMode) {
+        return loadFromFile(file, FileBackedConfig.makeDefault(storageMode));
+    }
 
-        if (Files.notExists(filePath)) {
-            return manager;
-        }
+    /**
+     * Load Tasks from the file of any format and replay the journal on top of them
+     */
+    public static FileBackedTaskManager loadFromFile(File file, FileBackedConfig config) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(file.getPath(), config);
+        manager.load();
+
+        return manager;
+    }
+
+    private void load() {
+        Path filePath = Paths.get(fullFileName);
+        Path journalPath = Paths.get(getJournalFileName());
 
         try {
-            String csvRowSeparator = "\n";
-            Arrays.stream(
-                            Files
-                                    .readString(filePath, fileEncoding)
-                                    .split(csvRowSeparator)
-                    )
-                    .forEach(line -> {
-                        Task task = deserializeTask(line);
-                        switch (getTaskType(task)) {
-                            case TaskType.REGULAR -> manager.createTask(task);
-                            case TaskType.SUB -> manager.createTask((SubTask) task);
-                            case TaskType.EPIC -> manager.createTask((EpicTask) task);
-                        }
-                    });
+            if (Files.exists(filePath) && BinarySnapshot.isBinary(filePath)) {
+                restoreTasks(BinarySnapshot.read(filePath).stream());
+            } else if (Files.exists(filePath)) {
+                try (Stream<String> lines = Files.lines(filePath, fileEncoding)) {
+                    restoreTasks(
+                            lines
+                                    .filter(line -> !line.isBlank())
+                                    .map(FileBackedTaskManager::deserializeTask)
+                    );
+                }
+            }
+
+            if (Files.exists(journalPath)) {
+                // The record torn by a crash in the middle of appending is overwritten by the next append
+                journalSize = Journal.replay(journalPath, this::restoreTask, super::removeTask);
+            }
         } catch (Exception e) {
             throw new ManagerLoadException(e.getMessage());
         }
 
-        return manager;
+        if (journalSize > 0 && config.getStorageMode() == StorageMode.SNAPSHOT) { // The journal isn't maintained in this mode
+            compact();
+        }
     }
 
+    // <<< Loading
+
     private void writeTask(BufferedWriter writer, Task task) throws IOException {
         String line = serializeTask(task);
         writer.write(line);
@@ -160,8 +610,8 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
                         task.getStatus().name(),
                         task.getDescription(),
                         getEpicReference(task),
-                        String.valueOf(task.getStartTime().toEpochSecond(ZoneOffset.UTC)),
-                        String.valueOf(task.getDuration().toMinutes())
+                        String.valueOf(task.getStartEpochSecond()),
+                        String.valueOf(task.getDurationSeconds() / 60)
                 });
     }
 
@@ -205,4 +655,42 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     private String getEpicReference(Task task) {
         return task instanceof SubTask ? String.valueOf(((SubTask) task).getEpicId()) : "";
     }
+
+    private static ScheduledExecutorService makePersister() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tasks-persister");
+            thread.setDaemon(true); // Pending changes are written by closing, so the thread mustn't block exiting
+            return thread;
+        });
+    }
+
+    private static class TakenChanges {
+        private final int recordsNumber;
+        private final long recordsSize;
+        private final int operations;
+        private final int clearings;
+
+        public TakenChanges(int recordsNumber, long recordsSize, int operations, int clearings) {
+            this.recordsNumber = recordsNumber;
+            this.recordsSize = recordsSize;
+            this.operations = operations;
+            this.clearings = clearings;
+        }
+    }
+
+    private static class Snapshot {
+        private final ArrayList<Task> tasks;
+        private final ArrayList<EpicTask> epicTasks;
+        private final ArrayList<SubTask> subTasks;
+
+        public Snapshot(ArrayList<Task> tasks, ArrayList<EpicTask> epicTasks, ArrayList<SubTask> subTasks) {
+            this.tasks = tasks;
+            this.epicTasks = epicTasks;
+            this.subTasks = subTasks;
+        }
+
+        public boolean isEmpty() {
+            return tasks.isEmpty() && epicTasks.isEmpty();
+        }
+    }
 }
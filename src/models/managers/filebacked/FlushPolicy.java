@@ -0,0 +1,68 @@
+package models.managers.filebacked;
+
+/**
+ * When changes are written to the file.
+ * Changes are written by a background thread unless they are written immediately,
+ * and they are always written by FileBackedTaskManager#flush() and FileBackedTaskManager#close().
+ */
+public class FlushPolicy {
+    private final boolean isImmediate;
+    private final int operations;
+    private final long intervalMillis;
+    private final boolean isDurable;
+
+    private FlushPolicy(boolean isImmediate, int operations, long intervalMillis, boolean isDurable) {
+        if (operations < 0 || intervalMillis < 0) {
+            throw new IllegalArgumentException("Flush thresholds can't be negative");
+        }
+
+        this.isImmediate = isImmediate;
+        this.operations = operations;
+        this.intervalMillis = intervalMillis;
+        this.isDurable = isDurable;
+    }
+
+    /**
+     * Write every change before returning from the changing method
+     */
+    public static FlushPolicy immediate() {
+        return new FlushPolicy(true, 0, 0, false);
+    }
+
+    /**
+     * Write changes in background after the number of changes or the interval, whichever comes first.
+     * Zero disables a threshold, so with both zeros changes are written only by flushing or closing.
+     */
+    public static FlushPolicy writeBehind(int operations, long intervalMillis) {
+        return new FlushPolicy(false, operations, intervalMillis, false);
+    }
+
+    /**
+     * Write changes only by flushing and force them to the disk.
+     * Writers flushing at the same time share one write and one force: the first of them writes changes of all.
+     * So every change must be followed by flushing outside the locks of the caller,
+     * e.g. by Managers#getDurableTaskManager.
+     */
+    public static FlushPolicy groupCommit() {
+        return new FlushPolicy(false, 0, 0, true);
+    }
+
+    public boolean isImmediate() {
+        return isImmediate;
+    }
+
+    public int getOperations() {
+        return operations;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Whether written changes are forced to the disk
+     */
+    public boolean isDurable() {
+        return isDurable;
+    }
+}
@@ -0,0 +1,132 @@
+package models.managers.filebacked;
+
+import models.tasks.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * Binary journal of changes made after the file was written.
+ * Header:
+ * - Magic bytes "KNJR"
+ * - Version byte
+ * Then records, each of them is:
+ * - Length of the payload as int
+ * - CRC32 of the payload as int
+ * - Payload: operation byte, then the Task encoded as in BinarySnapshot for PUT or the Task ID as int for REMOVE
+ * A crash in the middle of appending leaves the last record torn, so such a record is skipped by replaying.
+ */
+class Journal {
+    private static final int magic = 0x4B4E4A52; // "KNJR"
+    private static final byte version = 1;
+    private static final int headerSize = Integer.BYTES + 1;
+    private static final int recordHeaderSize = Integer.BYTES * 2;
+    private static final Operation[] operations = Operation.values();
+
+    static byte[] makeHeader() {
+        return ByteBuffer.allocate(headerSize).putInt(magic).put(version).array();
+    }
+
+    /**
+     * Make the record keeping the state of the Task after the change
+     */
+    static byte[] makePutRecord(Task task) {
+        return makeRecord(Operation.PUT, BinarySnapshot.encodeTask(task));
+    }
+
+    static byte[] makeRemovalRecord(int id) {
+        return makeRecord(Operation.REMOVE, ByteBuffer.allocate(Integer.BYTES).putInt(id).array());
+    }
+
+    /**
+     * Pass records of the journal in order, returning the size of its complete part.
+     * Records keep states of Tasks after changes, so replaying them twice is safe.
+     * The torn last record is skipped, but broken records followed by others mean the journal is corrupted.
+     */
+    static long replay(Path filePath, Consumer<Task> onPut, IntConsumer onRemove) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(filePath));
+
+        if (buffer.remaining() < headerSize) { // The header itself is torn
+            return 0;
+        }
+
+        if (buffer.getInt() != magic) {
+            throw new IOException("Not a journal");
+        }
+
+        byte fileVersion = buffer.get();
+
+        if (fileVersion != version) {
+            throw new IOException("Unsupported journal version " + fileVersion);
+        }
+
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+
+            if (buffer.remaining() < recordHeaderSize) {
+                return start;
+            }
+
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+
+            if (length < 1 || length > buffer.remaining()) {
+                return start;
+            }
+
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+
+            if (checksum != makeChecksum(record)) {
+                if (buffer.hasRemaining()) {
+                    throw new IOException("Corrupted journal record at " + start);
+                }
+
+                return start;
+            }
+
+            byte operation = record.get();
+
+            if (operation < 0 || operation >= operations.length) {
+                throw new IOException("Unknown journal operation " + operation);
+            }
+
+            switch (operations[operation]) {
+                case PUT -> onPut.accept(BinarySnapshot.decodeTask(record));
+                case REMOVE -> onRemove.accept(record.getInt());
+            }
+        }
+
+        return buffer.position();
+    }
+
+    private static byte[] makeRecord(Operation operation, byte[] value) {
+        ByteBuffer payload = ByteBuffer.allocate(1 + value.length)
+                .put((byte) operation.ordinal())
+                .put(value)
+                .flip();
+
+        return ByteBuffer.allocate(recordHeaderSize + payload.remaining())
+                .putInt(payload.remaining())
+                .putInt(makeChecksum(payload))
+                .put(payload)
+                .array();
+    }
+
+    private static int makeChecksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+
+        return (int) crc.getValue();
+    }
+
+    private enum Operation {
+        PUT,
+        REMOVE
+    }
+}
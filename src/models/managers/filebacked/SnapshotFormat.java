@@ -0,0 +1,9 @@
+package models.managers.filebacked;
+
+/**
+ * Format of the file with all Tasks
+ */
+public enum SnapshotFormat {
+    CSV,
+    BINARY // See BinarySnapshot
+}
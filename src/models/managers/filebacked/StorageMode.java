@@ -0,0 +1,9 @@
+package models.managers.filebacked;
+
+/**
+ * How changes of Tasks are written to the file
+ */
+public enum StorageMode {
+    SNAPSHOT, // Rewrite the whole file after every change
+    JOURNAL // Append every change to the journal, which is folded into the file when it grows
+}
@@ -0,0 +1,67 @@
+package models.managers.inmemory;
+
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Aggregated values of the Sub Tasks of one Epic.
+ * It's updated by Sub deltas, so an Epic is recalculated without scanning its Subs.
+ */
+class EpicRollup {
+    private final EnumMap<TaskStatus, Integer> statusCounters = new EnumMap<>(TaskStatus.class);
+    private final TreeMap<Long, Integer> startTimes = new TreeMap<>(); // Epoch second -> Number of Subs
+    private final TreeMap<Long, Integer> endTimes = new TreeMap<>();
+    private long durationSeconds;
+
+    public void add(Task subTask) {
+        statusCounters.merge(subTask.getStatus(), 1, Integer::sum);
+        startTimes.merge(subTask.getStartEpochSecond(), 1, Integer::sum);
+        endTimes.merge(subTask.getEndEpochSecond(), 1, Integer::sum);
+        durationSeconds += subTask.getDurationSeconds();
+    }
+
+    public void remove(Task subTask) {
+        decrement(statusCounters, subTask.getStatus());
+        decrement(startTimes, subTask.getStartEpochSecond());
+        decrement(endTimes, subTask.getEndEpochSecond());
+        durationSeconds -= subTask.getDurationSeconds();
+    }
+
+    public TaskStatus getStatus() {
+        boolean hasNew = statusCounters.containsKey(TaskStatus.NEW);
+        boolean hasDone = statusCounters.containsKey(TaskStatus.DONE);
+        boolean hasInProgress = statusCounters.containsKey(TaskStatus.IN_PROGRESS);
+
+        if (hasInProgress || (hasNew && hasDone)) { // Mixes statuses
+            return TaskStatus.IN_PROGRESS;
+        }
+
+        if (hasDone) { // Only done ones
+            return TaskStatus.DONE;
+        }
+
+        return TaskStatus.NEW; // Only new ones or there aren't tasks
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTimes.isEmpty() ? LocalDateTime.MIN : Task.toDateTime(startTimes.firstKey());
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTimes.isEmpty() ? LocalDateTime.MIN : Task.toDateTime(endTimes.lastKey());
+    }
+
+    public Duration getDuration() {
+        return Duration.ofSeconds(durationSeconds);
+    }
+
+    private static <K> void decrement(Map<K, Integer> counters, K key) {
+        counters.computeIfPresent(key, (k, number) -> number > 1 ? number - 1 : null);
+    }
+}
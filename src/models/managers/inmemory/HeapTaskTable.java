@@ -0,0 +1,67 @@
+package models.managers.inmemory;
+
+import models.collections.IntMap;
+import models.tasks.Task;
+
+import java.util.BitSet;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Table keeping Task objects, so got Tasks are the stored ones.
+ * IDs are also kept as bits, so Tasks are visited in order of IDs, though the map isn't ordered.
+ */
+class HeapTaskTable<T extends Task> implements TaskTable<T> {
+    private final IntMap<T> tasks = new IntMap<>();
+    private final BitSet ids = new BitSet();
+
+    @Override
+    public T get(int id) {
+        return tasks.get(id);
+    }
+
+    @Override
+    public T put(T task) {
+        ids.set(task.getId());
+        return tasks.put(task.getId(), task);
+    }
+
+    @Override
+    public T remove(int id) {
+        ids.clear(id);
+        return tasks.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        tasks.clear();
+        ids.clear();
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            action.accept(tasks.get(id));
+        }
+    }
+
+    @Override
+    public void forEachId(IntConsumer action) {
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            action.accept(id);
+        }
+    }
+
+    @Override
+    public void forEachIdAfter(int afterId, IntPredicate action) {
+        for (int id = ids.nextSetBit(Math.max(afterId + 1, 0)); id >= 0 && action.test(id); id = ids.nextSetBit(id + 1)) {
+            // Visit until the action stops
+        }
+    }
+}
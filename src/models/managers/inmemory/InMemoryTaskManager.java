@@ -1,28 +1,54 @@
 package models.managers.inmemory;
 
+import models.collections.IntMap;
 import models.history.HistoryManager;
 import models.managers.Managers;
 import models.managers.TaskManager;
+import models.managers.batch.TaskBatch;
+import models.managers.query.TaskPage;
+import models.managers.query.TaskQuery;
+import models.managers.query.TaskStats;
+import models.managers.query.TimeSlot;
 import models.tasks.*;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
-
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Stored Tasks are frozen snapshots, which are replaced by new versions on updating.
+ * So reads share them without copying.
+ */
 public class InMemoryTaskManager implements TaskManager {
     private int lastTaskId;
-    private final HashMap<Integer, Task> tasks;
-    private final HashMap<Integer, EpicTask> epicTasks;
-    private final HashMap<Integer, SubTask> subTasks;
+    private final TaskTable<Task> tasks;
+    private final TaskTable<EpicTask> epicTasks;
+    private final TaskTable<SubTask> subTasks;
+    private final IntMap<LinkedHashSet<Integer>> epicSubTaskIds; // Epic ID -> IDs of its Sub Tasks
+    private final IntMap<EpicRollup> epicRollups;
     private final HistoryManager historyManager;
-    private final TreeSet<Task> prioritizedTasks = new TreeSet<>(Comparator.comparing(Task::getStartTime));
+    private final IntervalIndex scheduledTasks = new IntervalIndex(); // Prioritized Tasks in order of start and ID
+    private final TaskColumns taskColumns = new TaskColumns(); // Regular and Sub Tasks for aggregations
 
     public InMemoryTaskManager() {
+        this(new HeapTaskTable<>(), new HeapTaskTable<>(), new HeapTaskTable<>());
+    }
+
+    /**
+     * Keep Tasks in the tables, e.g. out of the heap. Indexes are kept in the heap anyway.
+     */
+    protected InMemoryTaskManager(TaskTable<Task> tasks, TaskTable<EpicTask> epicTasks, TaskTable<SubTask> subTasks) {
         this.lastTaskId = 0;
-        this.tasks = new HashMap<>();
-        this.epicTasks = new HashMap<>();
-        this.subTasks = new HashMap<>();
+        this.tasks = tasks;
+        this.epicTasks = epicTasks;
+        this.subTasks = subTasks;
+        this.epicSubTaskIds = new IntMap<>();
+        this.epicRollups = new IntMap<>();
         this.historyManager = Managers.getDefaultHistory();
     }
 
@@ -30,51 +56,266 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public ArrayList<Task> getTasks() {
-        return tasks.values()
-                .stream()
-                .map(Task::copy) // Return copies to avoid changing by link
-                .collect(Collectors.toCollection(ArrayList::new));
+        return tasks.values();
     }
 
     @Override
     public ArrayList<Task> getPrioritizedTasks() {
-        return new ArrayList<>(prioritizedTasks);
+        ArrayList<Task> prioritizedTasks = new ArrayList<>(scheduledTasks.size());
+        scheduledTasks.forEach(taskId -> prioritizedTasks.add(getScheduledTask(taskId)));
+
+        return prioritizedTasks;
+    }
+
+    @Override
+    public ArrayList<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to) {
+        ArrayList<Task> windowTasks = new ArrayList<>();
+        long toSecond = to == null ? Long.MAX_VALUE : Task.toEpochSecondRoundedUp(to);
+
+        visitPrioritizedTasksFrom(
+                from,
+                task -> task.getStartEpochSecond() < toSecond && windowTasks.add(task) // The rest start later
+        );
+
+        return windowTasks;
     }
 
     @Override
     public ArrayList<EpicTask> getEpicTasks() {
-        return epicTasks.values()
-                .stream()
-                .map(EpicTask::copy)
-                .collect(Collectors.toCollection(ArrayList::new));
+        return epicTasks.values();
     }
 
     @Override
     public ArrayList<SubTask> getSubTasks() {
-        return subTasks.values()
-                .stream()
-                .map(SubTask::copy)
-                .collect(Collectors.toCollection(ArrayList::new));
+        return subTasks.values();
     }
 
     // <<< List getters
 
+    // List visitors >>>
+
+    @Override
+    public void forEachTask(Consumer<? super Task> action) {
+        tasks.forEach(action);
+    }
+
+    @Override
+    public void forEachPrioritizedTask(Consumer<? super Task> action) {
+        scheduledTasks.forEach(taskId -> {
+            action.accept(getScheduledTask(taskId));
+            return true;
+        });
+    }
+
+    @Override
+    public void forEachEpicTask(Consumer<? super EpicTask> action) {
+        epicTasks.forEach(action);
+    }
+
+    @Override
+    public void forEachSubTask(Consumer<? super SubTask> action) {
+        subTasks.forEach(action);
+    }
+
+    @Override
+    public void forEachEpicSubTask(int epicId, Consumer<? super SubTask> action) {
+        LinkedHashSet<Integer> subTaskIds = epicSubTaskIds.get(epicId);
+
+        if (subTaskIds != null) {
+            subTaskIds.forEach(subTaskId -> action.accept(subTasks.get(subTaskId)));
+        }
+    }
+
+    // <<< List visitors
+
+    // Queries >>>
+
+    @Override
+    public TaskPage<Task> findTasks(TaskQuery query) {
+        return findById(tasks, query);
+    }
+
+    @Override
+    public TaskPage<EpicTask> findEpicTasks(TaskQuery query) {
+        return findById(epicTasks, query);
+    }
+
+    @Override
+    public TaskPage<SubTask> findSubTasks(TaskQuery query) {
+        if (query.getEpicId() == null) {
+            return findById(subTasks, query);
+        }
+
+        // Subs of the Epic are indexed in order of IDs
+        int afterId = parseIdCursor(query.getCursor());
+        PageBuilder<SubTask> page = new PageBuilder<>(query.getLimit());
+
+        for (int subTaskId : epicSubTaskIds.getOrDefault(query.getEpicId(), new LinkedHashSet<>())) {
+            SubTask subTask = subTasks.get(subTaskId);
+
+            if (subTaskId > afterId && query.matches(subTask) && !page.offer(subTask)) {
+                break;
+            }
+        }
+
+        return page.build(subTask -> String.valueOf(subTask.getId()));
+    }
+
+    @Override
+    public TaskPage<Task> findPrioritizedTasks(TaskQuery query) {
+        PageBuilder<Task> page = new PageBuilder<>(query.getLimit());
+        long toSecond = query.getTo() == null ? Long.MAX_VALUE : Task.toEpochSecondRoundedUp(query.getTo());
+        Predicate<Task> visitor = task -> task.getStartEpochSecond() < toSecond // The rest start later
+                && (!query.matches(task) || page.offer(task));
+
+        if (query.getCursor() == null) {
+            visitPrioritizedTasksFrom(query.getFrom(), visitor);
+        } else {
+            Task cursorTask = parsePriorityCursor(query.getCursor());
+            scheduledTasks.forEachAfter(
+                    cursorTask.getStartEpochSecond(),
+                    cursorTask.getId(),
+                    taskId -> visitor.test(getScheduledTask(taskId))
+            );
+        }
+
+        return page.build(task -> task.getStartTime() + "_" + task.getId());
+    }
+
+    /**
+     * Visit prioritized Tasks which may end after the time in order of start, until the visitor returns false
+     */
+    private void visitPrioritizedTasksFrom(LocalDateTime time, Predicate<Task> visitor) {
+        if (time == null) {
+            scheduledTasks.forEach(taskId -> visitor.test(getScheduledTask(taskId)));
+        } else {
+            scheduledTasks.forEachLastingAt(Task.toEpochSecond(time), taskId -> visitor.test(getScheduledTask(taskId)));
+        }
+    }
+
+    /**
+     * Get the stored Task of the prioritized ID, only Regular and Sub Tasks are prioritized
+     */
+    private Task getScheduledTask(int id) {
+        Task task = tasks.get(id);
+        return task != null ? task : subTasks.get(id);
+    }
+
+    /**
+     * Walk IDs of the table in order from the cursor, so only Tasks up to the end of the page are read
+     */
+    private <T extends Task> TaskPage<T> findById(TaskTable<T> table, TaskQuery query) {
+        PageBuilder<T> page = new PageBuilder<>(query.getLimit());
+
+        table.forEachIdAfter(parseIdCursor(query.getCursor()), id -> {
+            T task = table.get(id);
+            return !query.matches(task) || page.offer(task);
+        });
+
+        return page.build(task -> String.valueOf(task.getId()));
+    }
+
+    private static int parseIdCursor(String cursor) {
+        return cursor == null ? 0 : Integer.parseInt(cursor);
+    }
+
+    /**
+     * Make the Task standing at the cursor position, which is the start time and the ID
+     */
+    private static Task parsePriorityCursor(String cursor) {
+        int separatorIndex = cursor.lastIndexOf('_');
+
+        if (separatorIndex < 0) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor);
+        }
+
+        try {
+            return new Task(
+                    Integer.parseInt(cursor.substring(separatorIndex + 1)),
+                    null,
+                    null,
+                    LocalDateTime.parse(cursor.substring(0, separatorIndex)),
+                    Duration.ZERO
+            );
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor " + cursor);
+        }
+    }
+
+    private static class PageBuilder<T extends Task> {
+        private final int limit;
+        private final ArrayList<T> tasks = new ArrayList<>();
+        private boolean hasMore;
+
+        public PageBuilder(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Add the matched Task, it returns false once the page is full and there is one more Task
+         */
+        public boolean offer(T task) {
+            if (tasks.size() == limit) {
+                hasMore = true;
+                return false;
+            }
+
+            tasks.add(task);
+            return true;
+        }
+
+        public TaskPage<T> build(Function<T, String> cursorMaking) {
+            return new TaskPage<>(tasks, hasMore ? cursorMaking.apply(tasks.getLast()) : null);
+        }
+    }
+
+    // <<< Queries
+
     // List removers >>>
-    // Remove tasks one by one to execute extra logic such as history updating
+    // Tables are cleared at once, so only the indexes shared with Tasks of other types are updated by IDs
 
     @Override
     public void removeTasks() {
-        getTasks().forEach(task -> removeTask(task.getId()));
+        unindexTasks(tasks, subTasks);
+        tasks.clear();
     }
 
     @Override
     public void removeEpicTasks() {
-        getEpicTasks().forEach(epicTask -> removeTask(epicTask.getId()));
+        unindexTasks(subTasks, tasks);
+        epicTasks.forEachId(historyManager::remove);
+        subTasks.clear();
+        epicTasks.clear();
+        epicSubTaskIds.clear();
+        epicRollups.clear();
     }
 
     @Override
     public void removeSubTasks() {
-        getSubTasks().forEach(subTask -> removeTask(subTask.getId()));
+        unindexTasks(subTasks, tasks);
+        subTasks.clear();
+        epicTasks.forEachId(epicId -> { // Only values of Epics are replaced, so the iteration is safe
+            epicSubTaskIds.get(epicId).clear();
+            epicRollups.put(epicId, new EpicRollup());
+            updateEpicTask(epicId);
+        });
+    }
+
+    /**
+     * Drop removed Tasks from the indexes of Regular and Sub Tasks, which are cleared at once if nothing is kept
+     */
+    private void unindexTasks(TaskTable<?> removedTasks, TaskTable<?> keptTasks) {
+        if (keptTasks.isEmpty()) {
+            scheduledTasks.clear();
+            taskColumns.clear();
+        } else {
+            removedTasks.forEachId(id -> {
+                scheduledTasks.remove(id);
+                taskColumns.remove(id);
+            });
+        }
+
+        removedTasks.forEachId(historyManager::remove);
     }
 
     // <<< List removers
@@ -83,67 +324,69 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Optional<Task> getTask(int id) {
-        Optional<Task> task = tasks.containsKey(id) ? Optional.of(tasks.get(id)) : Optional.empty();
+        Optional<Task> task = peekTask(id);
         task.ifPresent(historyManager::add);
         return task;
     }
 
     @Override
     public Optional<EpicTask> getEpicTask(int id) {
-        Optional<EpicTask> task = epicTasks.containsKey(id) ? Optional.of(epicTasks.get(id)) : Optional.empty();
+        Optional<EpicTask> task = peekEpicTask(id);
         task.ifPresent(historyManager::add);
         return task;
     }
 
     @Override
     public Optional<SubTask> getSubTask(int id) {
-        Optional<SubTask> task = subTasks.containsKey(id) ? Optional.of(subTasks.get(id)) : Optional.empty();
+        Optional<SubTask> task = peekSubTask(id);
         task.ifPresent(historyManager::add);
         return task;
     }
 
-    // <<< One model getters
-
-    // Common methods >>>
+    @Override
+    public Optional<Task> peekTask(int id) {
+        return Optional.ofNullable(tasks.get(id));
+    }
 
     @Override
-    public void removeTask(int id) {
-        Task regularTask = tasks.remove(id);
+    public Optional<EpicTask> peekEpicTask(int id) {
+        return Optional.ofNullable(epicTasks.get(id));
+    }
 
-        if (regularTask != null) {
-            historyManager.remove(regularTask.getId());
-            deprioritizeTask(regularTask);
-            return;
-        }
+    @Override
+    public Optional<SubTask> peekSubTask(int id) {
+        return Optional.ofNullable(subTasks.get(id));
+    }
 
-        EpicTask epicTask = epicTasks.remove(id);
+    @Override
+    public boolean exists(int id) {
+        return findStoredTask(id).isPresent();
+    }
 
-        if (epicTask != null) {
-            getEpicSubTasks(epicTask.getId())
-                    .forEach(subTask -> {
-                        subTasks.remove(subTask.getId());
-                        historyManager.remove(subTask.getId());
-                        deprioritizeTask(subTask);
-                    });
-            historyManager.remove(epicTask.getId());
-        }
+    // <<< One model getters
 
-        SubTask subTask = subTasks.remove(id);
+    // Common methods >>>
 
-        if (subTask != null) {
+    @Override
+    public void removeTask(int id) {
+        if (deleteTask(id) instanceof SubTask subTask) {
             updateEpicTask(subTask.getEpicId());
-            historyManager.remove(subTask.getId());
-            deprioritizeTask(subTask);
         }
     }
 
     public void removeAllTasks() {
-        removeTasks();
-        removeEpicTasks();
+        tasks.clear();
+        epicTasks.clear();
+        subTasks.clear();
+        epicSubTaskIds.clear();
+        epicRollups.clear();
+        scheduledTasks.clear();
+        taskColumns.clear();
+        historyManager.clear();
     }
 
     public boolean isEmpty() {
-        return this.getTasks().isEmpty() && this.getEpicTasks().isEmpty();
+        return tasks.isEmpty() && epicTasks.isEmpty(); // Sub Tasks can't exist without Epics
     }
 
     // <<< Common methods
@@ -154,51 +397,40 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Task createTask(Task attributes) {
-        Task task = new Task(
-                makeId(),
-                attributes.getName(),
-                attributes.getDescription(),
-                attributes.getStartTime(),
-                attributes.getDuration()
-        );
+        return createTask(attributes, false);
+    }
 
-        checkIntersection(task);
+    @Override
+    public Task createTask(Task attributes, boolean isAutoScheduled) {
+        Task task = makeTask(attributes, getScheduledStartTime(attributes, isAutoScheduled));
 
-        tasks.put(task.getId(), task);
-        this.prioritizeTask(task);
+        checkIntersection(task);
+        addTask(task);
 
-        // Save a copy to avoid changing by link
+        // Return a changeable copy, so the caller may fill it for updating
         return task.copy();
     }
 
     @Override
     public EpicTask createTask(EpicTask attributes) {
-        int id = makeId();
-        epicTasks.put(id, new EpicTask(
-                id,
-                attributes.getName(),
-                attributes.getDescription()
-        ));
+        EpicTask epicTask = makeEpicTask(attributes);
+        addEpicTask(epicTask);
 
-        return epicTasks.get(id).copy();
+        return epicTask.copy();
     }
 
     @Override
     public SubTask createTask(SubTask attributes) {
-        SubTask subTask = new SubTask(
-                makeId(),
-                attributes.getEpicId(),
-                attributes.getName(),
-                attributes.getDescription(),
-                attributes.getStartTime(),
-                attributes.getDuration()
-        );
+        return createTask(attributes, false);
+    }
 
-        checkIntersection(subTask);
+    @Override
+    public SubTask createTask(SubTask attributes, boolean isAutoScheduled) {
+        SubTask subTask = makeSubTask(attributes, getScheduledStartTime(attributes, isAutoScheduled));
 
-        subTasks.put(subTask.getId(), subTask);
-        updateEpicTask(attributes.getEpicId());
-        this.prioritizeTask(subTask);
+        checkIntersection(subTask);
+        addSubTask(subTask);
+        updateEpicTask(subTask.getEpicId());
 
         return subTask.copy();
     }
@@ -208,36 +440,145 @@ public class InMemoryTaskManager implements TaskManager {
     @Override
     public void updateTask(Task attributes) {
         checkIntersection(attributes);
-
-        tasks.get(attributes.getId())
-                .fill(attributes);
-        this.prioritizeTask(tasks.get(attributes.getId()));
+        replaceTask(attributes);
     }
 
     @Override
     public void updateTask(EpicTask attributes) {
-        epicTasks.get(attributes.getId())
-                .fill(attributes);
+        replaceEpicTask(attributes);
     }
 
     @Override
     public void updateTask(SubTask attributes) {
         checkIntersection(attributes);
-
-        SubTask subTask = subTasks.get(attributes.getId());
-        subTask.fill(attributes);
-        this.prioritizeTask(subTask);
-        updateEpicTask(subTask.getEpicId());
+        updateEpicTask(replaceSubTask(attributes).getEpicId());
     }
 
     /* <<< Overloaded methods */
 
+    // Changing >>>
+    // Steps of creating, updating and removing without the intersection check and the Epic recalculation
+
+    private Task makeTask(Task attributes, LocalDateTime startTime) {
+        return new Task(
+                makeId(),
+                attributes.getName(),
+                attributes.getDescription(),
+                startTime,
+                attributes.getDuration()
+        ).freeze();
+    }
+
+    private EpicTask makeEpicTask(EpicTask attributes) {
+        return new EpicTask(
+                makeId(),
+                attributes.getName(),
+                attributes.getDescription()
+        ).freeze();
+    }
+
+    private SubTask makeSubTask(SubTask attributes, LocalDateTime startTime) {
+        return new SubTask(
+                makeId(),
+                attributes.getEpicId(),
+                attributes.getName(),
+                attributes.getDescription(),
+                startTime,
+                attributes.getDuration()
+        ).freeze();
+    }
+
+    private void addTask(Task task) {
+        tasks.put(task);
+        this.indexTask(task);
+    }
+
+    private void addEpicTask(EpicTask epicTask) {
+        epicTasks.put(epicTask);
+        epicSubTaskIds.put(epicTask.getId(), new LinkedHashSet<>());
+        epicRollups.put(epicTask.getId(), new EpicRollup());
+    }
+
+    private void addSubTask(SubTask subTask) {
+        subTasks.put(subTask);
+        epicSubTaskIds.get(subTask.getEpicId()).add(subTask.getId());
+        epicRollups.get(subTask.getEpicId()).add(subTask);
+        this.indexTask(subTask);
+    }
+
+    private Task replaceTask(Task attributes) {
+        Task task = tasks.get(attributes.getId()).update(attributes);
+        tasks.put(task);
+        this.indexTask(task); // The previous version is replaced in the index by ID
+
+        return task;
+    }
+
+    private EpicTask replaceEpicTask(EpicTask attributes) {
+        EpicTask epicTask = epicTasks.get(attributes.getId()).update(attributes);
+        epicTasks.put(epicTask);
+
+        return epicTask;
+    }
+
+    private SubTask replaceSubTask(SubTask attributes) {
+        SubTask previous = subTasks.get(attributes.getId());
+        SubTask subTask = previous.update(attributes); // Epic ID is immutable, so the Epic index stays the same
+        EpicRollup epicRollup = epicRollups.get(subTask.getEpicId());
+        epicRollup.remove(previous);
+        subTasks.put(subTask);
+        epicRollup.add(subTask);
+        this.indexTask(subTask);
+
+        return subTask;
+    }
+
+    /**
+     * Remove the Task of any type, returning it or null. Epics are removed with their Sub Tasks.
+     */
+    private Task deleteTask(int id) {
+        Task regularTask = tasks.remove(id);
+
+        if (regularTask != null) {
+            historyManager.remove(regularTask.getId());
+            unindexTask(regularTask);
+            return regularTask;
+        }
+
+        EpicTask epicTask = epicTasks.remove(id);
+
+        if (epicTask != null) {
+            epicSubTaskIds.remove(epicTask.getId())
+                    .forEach(subTaskId -> {
+                        historyManager.remove(subTaskId);
+                        unindexTask(subTasks.remove(subTaskId));
+                    });
+            epicRollups.remove(epicTask.getId());
+            historyManager.remove(epicTask.getId());
+            return epicTask;
+        }
+
+        SubTask subTask = subTasks.remove(id);
+
+        if (subTask != null) {
+            epicSubTaskIds.get(subTask.getEpicId()).remove(subTask.getId());
+            epicRollups.get(subTask.getEpicId()).remove(subTask);
+            historyManager.remove(subTask.getId());
+            unindexTask(subTask);
+        }
+
+        return subTask;
+    }
+
+    // <<< Changing
+
     @Override
     public ArrayList<SubTask> getEpicSubTasks(int epicId) {
-        return getSubTasks()
-                .stream()
-                .filter(subTask -> subTask.getEpicId() == epicId)
-                .collect(Collectors.toCollection(ArrayList::new));
+        LinkedHashSet<Integer> subTaskIds = epicSubTaskIds.getOrDefault(epicId, new LinkedHashSet<>());
+        ArrayList<SubTask> epicSubTasks = new ArrayList<>(subTaskIds.size());
+        subTaskIds.forEach(subTaskId -> epicSubTasks.add(subTasks.get(subTaskId)));
+
+        return epicSubTasks;
     }
 
     @Override
@@ -245,119 +586,378 @@ public class InMemoryTaskManager implements TaskManager {
         return historyManager.getHistory();
     }
 
-    private void updateEpicTask(int epicId) {
-        EpicTask epicTask = epicTasks.get(epicId);
-        epicTask.setStatus(calculateEpicStatus(epicId));
-        epicTask.setStartTime(calculateEpicStartTime(epicId));
-        epicTask.setDuration(calculateEpicDuration(epicId));
+    @Override
+    public TimeSlot findFreeSlot(LocalDateTime notBefore, Duration duration) {
+        return new TimeSlot(scheduledTasks.findFreeSlot(notBefore, duration), duration);
     }
 
-    private int makeId() {
-        return ++this.lastTaskId;
+    @Override
+    public TaskStats getStats() {
+        HashMap<Integer, Integer> epicSubTaskCounts = new HashMap<>();
+        epicSubTaskIds.forEachKey(epicId -> epicSubTaskCounts.put(epicId, epicSubTaskIds.get(epicId).size()));
+
+        return taskColumns.makeStats(epicSubTaskCounts);
     }
 
-    private TaskStatus calculateEpicStatus(int epicId) {
-        ArrayList<SubTask> subTasks = getEpicSubTasks(epicId);
-        boolean hasTasks = !subTasks.isEmpty();
-        boolean hasNew = false;
-        boolean hasDone = false;
-        boolean hasInProgress = false;
+    // Batches >>>
 
-        for (SubTask subTask : subTasks) {
-            switch (subTask.getStatus()) {
-                case NEW -> hasNew = true;
-                case DONE -> hasDone = true;
-                case IN_PROGRESS -> hasInProgress = true;
-            }
+    /**
+     * Check all items before changing anything, then apply them. Epics are recalculated once per touched Epic.
+     */
+    @Override
+    public ArrayList<Task> applyBatch(TaskBatch batch) {
+        checkBatch(batch);
+
+        ArrayList<Task> results = new ArrayList<>(batch.size());
+        LinkedHashSet<Integer> touchedEpicIds = new LinkedHashSet<>();
+
+        for (TaskBatch.Item item : batch.getItems()) {
+            results.add(
+                    switch (item.getOperation()) {
+                        case CREATE -> applyCreating(item.getTask(), touchedEpicIds);
+                        case UPDATE -> applyUpdating(item.getTask(), touchedEpicIds);
+                        case REMOVE -> applyRemoving(item.getId(), touchedEpicIds);
+                    }
+            );
         }
 
-        if (hasInProgress || (hasNew && hasDone)) { // Mixes statuses
-            return TaskStatus.IN_PROGRESS;
+        touchedEpicIds.forEach(epicId -> {
+            if (epicTasks.get(epicId) != null) { // The Epic may be removed by a later item
+                updateEpicTask(epicId);
+            }
+        });
+
+        return results;
+    }
+
+    /**
+     * Check that every item may be applied after the previous ones, so the batch is applied as a whole or not at all
+     */
+    private void checkBatch(TaskBatch batch) {
+        HashMap<Integer, Task> changedTasks = new HashMap<>(); // ID -> Task after the batch, or null if it's removed
+        int createdKey = 0; // Created Tasks have no IDs yet, so they're kept by negative keys
+
+        for (TaskBatch.Item item : batch.getItems()) {
+            switch (item.getOperation()) {
+                case CREATE -> {
+                    if (
+                            item.getTask() instanceof SubTask subTask
+                                    && !(findBatchTask(changedTasks, subTask.getEpicId()) instanceof EpicTask)
+                    ) {
+                        throw new IllegalArgumentException(
+                                "The epic " + subTask.getEpicId() + " of the created sub task isn't found"
+                        );
+                    }
+
+                    changedTasks.put(--createdKey, item.getTask());
+                }
+                case UPDATE -> {
+                    Task previous = findBatchTask(changedTasks, item.getId());
+
+                    if (previous == null || previous.getClass() != item.getTask().getClass()) {
+                        throw new IllegalArgumentException("The updated task " + item.getId() + " isn't found");
+                    }
+
+                    changedTasks.put(item.getId(), item.getTask());
+                }
+                case REMOVE -> {
+                    int id = item.getId();
+
+                    if (findBatchTask(changedTasks, id) == null) {
+                        throw new IllegalArgumentException("The removed task " + id + " isn't found");
+                    }
+
+                    if (epicTasks.get(id) != null) { // Sub Tasks of the Epic are removed too
+                        epicSubTaskIds.get(id).forEach(subTaskId -> changedTasks.put(subTaskId, null));
+                        changedTasks.replaceAll(
+                                (key, task) -> key < 0 && task instanceof SubTask subTask && subTask.getEpicId() == id
+                                        ? null
+                                        : task
+                        );
+                    }
+
+                    changedTasks.put(id, null);
+                }
+            }
         }
 
-        if (hasNew) { // Only new ones
-            return TaskStatus.NEW;
+        checkBatchIntersections(changedTasks);
+    }
+
+    /**
+     * Check changed Tasks against the schedule without their previous versions, and against each other
+     */
+    private void checkBatchIntersections(HashMap<Integer, Task> changedTasks) {
+        List<Task> checkedTasks = changedTasks.values()
+                .stream()
+                .filter(task -> task != null && !(task instanceof EpicTask))
+                .sorted(
+                        Comparator.comparingLong(Task::getStartEpochSecond)
+                                .thenComparing(task -> !isPrioritizable(task)) // Prioritized ones are checked first
+                )
+                .toList();
+        Task latestTask = null; // Prioritized Task of the batch which ends the latest
+
+        for (Task task : checkedTasks) {
+            long start = task.getStartEpochSecond();
+            OptionalInt priorTaskId = scheduledTasks.findIntersection(
+                    start,
+                    task.getEndEpochSecond(),
+                    changedTasks::containsKey // Previous versions of changed Tasks are replaced by the batch
+            );
+
+            if (priorTaskId.isPresent()) {
+                throw makeIntersectionException(task, getScheduledTask(priorTaskId.getAsInt()));
+            }
+
+            if (
+                    latestTask != null
+                            && (start < latestTask.getEndEpochSecond() || start == latestTask.getStartEpochSecond())
+            ) {
+                throw makeIntersectionException(task, latestTask);
+            }
+
+            if (
+                    isPrioritizable(task)
+                            && (latestTask == null || task.getEndEpochSecond() > latestTask.getEndEpochSecond())
+            ) {
+                latestTask = task;
+            }
         }
+    }
+
+    /**
+     * Get the Task as it's after the checked items, or null if it's removed or doesn't exist
+     */
+    private Task findBatchTask(HashMap<Integer, Task> changedTasks, int id) {
+        return changedTasks.containsKey(id) ? changedTasks.get(id) : findStoredTask(id).orElse(null);
+    }
+
+    private Task applyCreating(Task attributes, Set<Integer> touchedEpicIds) {
+        switch (attributes) {
+            case EpicTask epicAttributes -> {
+                EpicTask epicTask = makeEpicTask(epicAttributes);
+                addEpicTask(epicTask);
+
+                return epicTask.copy();
+            }
+            case SubTask subAttributes -> {
+                SubTask subTask = makeSubTask(subAttributes, subAttributes.getStartTime());
+                addSubTask(subTask);
+                touchedEpicIds.add(subTask.getEpicId());
+
+                return subTask.copy();
+            }
+            case Task taskAttributes -> {
+                Task task = makeTask(taskAttributes, taskAttributes.getStartTime());
+                addTask(task);
 
-        if (hasDone) { // Only done ones
-            return TaskStatus.DONE;
+                return task.copy();
+            }
         }
+    }
+
+    private Task applyUpdating(Task attributes, Set<Integer> touchedEpicIds) {
+        switch (attributes) {
+            case EpicTask epicAttributes -> {
+                return replaceEpicTask(epicAttributes);
+            }
+            case SubTask subAttributes -> {
+                SubTask subTask = replaceSubTask(subAttributes);
+                touchedEpicIds.add(subTask.getEpicId());
 
-        return !hasTasks ? TaskStatus.NEW : TaskStatus.IN_PROGRESS; // That's if there aren't tasks
+                return subTask;
+            }
+            case Task taskAttributes -> {
+                return replaceTask(taskAttributes);
+            }
+        }
     }
 
-    private LocalDateTime calculateEpicStartTime(int epicId) {
-        return getEpicSubTasks(epicId)
-                .stream()
-                .map(Task::getStartTime)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.MIN);
+    private Task applyRemoving(int id, Set<Integer> touchedEpicIds) {
+        Task removed = deleteTask(id);
+
+        if (removed instanceof SubTask subTask) {
+            touchedEpicIds.add(subTask.getEpicId());
+        }
+
+        return removed;
     }
 
-    private Duration calculateEpicDuration(int epicId) {
-        return getEpicSubTasks(epicId)
-                .stream()
-                .reduce(
-                        Duration.ZERO,
-                        (duration, task) -> duration.plus(task.getDuration()),
-                        (Duration::plus)
-                );
+    // <<< Batches
+
+    // Restoring >>>
+
+    /**
+     * Get the stored Task of any type without adding it to the history
+     */
+    protected Optional<Task> findStoredTask(int id) {
+        Task task = tasks.get(id);
+
+        if (task == null) {
+            task = epicTasks.get(id);
+        }
+
+        return Optional.ofNullable(task != null ? task : subTasks.get(id));
     }
 
-    private void prioritizeTask(Task task) {
-        this.deprioritizeTask(task);
+    /**
+     * Put the Task keeping its ID and status, the existed Task with the same ID is replaced.
+     * It's used to restore saved Tasks, so intersections aren't checked. Epics of Sub Tasks must be restored before.
+     */
+    protected void restoreTask(Task task) {
+        lastTaskId = Math.max(lastTaskId, task.getId());
 
-        if (
-                !task.getStartTime().isEqual(LocalDateTime.MIN)
-                        && !task.getDuration().isZero()         // <--
-        ) {
-            this.prioritizedTasks.add(task);
+        switch (task) {
+            case EpicTask epicTask -> restoreEpicTask(epicTask);
+            case SubTask subTask -> restoreSubTask(subTask);
+            case Task regularTask -> {
+                Task restored = regularTask.copy().freeze();
+                tasks.put(restored);
+                indexTask(restored);
+            }
         }
     }
 
-    private void deprioritizeTask(Task task) {
-        this.prioritizedTasks.remove(task);
+    /**
+     * Put restored Tasks as is, keeping their IDs, and build the indexes once afterward.
+     * Restored objects are frozen and stored without copying, so they can't be changed by the caller anymore.
+     */
+    protected void restoreTasks(Stream<Task> restoredTasks) {
+        restoredTasks.forEach(task -> {
+            lastTaskId = Math.max(lastTaskId, task.getId());
+            task.freeze();
+
+            switch (task) {
+                case EpicTask epicTask -> epicTasks.put(epicTask);
+                case SubTask subTask -> subTasks.put(subTask);
+                case Task regularTask -> tasks.put(regularTask);
+            }
+        });
+
+        rebuildIndexes();
     }
 
-    /* Tasks intersection >>> */
+    private void rebuildIndexes() {
+        epicSubTaskIds.clear();
+        epicRollups.clear();
+        epicTasks.forEachId(epicId -> {
+            epicSubTaskIds.put(epicId, new LinkedHashSet<>());
+            epicRollups.put(epicId, new EpicRollup());
+        });
 
-    private void checkIntersection(Task task) {
-        getPrioritizedTasks()
+        subTasks.values()
                 .stream()
-                .filter(
-                        (priorTask) -> priorTask.getId() != task.getId()
-                                && areIntersectingByPeriod(priorTask, task)
-                )
-                .findFirst()
-                .ifPresent((priorTask) -> {
-                    throw new IllegalArgumentException(
-                            String.format(
-                                    "The task \"%s\" is intersecting with \"%s\"",
-                                    task,
-                                    priorTask
-                            )
-                    );
+                .sorted(Comparator.comparing(Task::getId)) // Keep Subs of Epics in order of creation
+                .forEach(subTask -> {
+                    epicSubTaskIds.get(subTask.getEpicId()).add(subTask.getId());
+                    epicRollups.get(subTask.getEpicId()).add(subTask);
                 });
+        epicTasks.forEachId(this::updateEpicTask); // Only values of Epics are replaced, so the iteration is safe
+
+        List<Task> scheduled = Stream.concat(tasks.values().stream(), subTasks.values().stream())
+                .filter(this::isPrioritizable)
+                .sorted(Comparator.comparingLong(Task::getStartEpochSecond).thenComparingInt(Task::getId))
+                .toList();
+        scheduledTasks.build(scheduled);
+
+        taskColumns.clear();
+        tasks.forEach(taskColumns::put);
+        subTasks.forEach(taskColumns::put);
+    }
+
+    private void restoreEpicTask(EpicTask epicTask) {
+        EpicTask previous = epicTasks.get(epicTask.getId());
+
+        if (previous != null) {
+            epicTasks.put(previous.update(epicTask));
+            return;
+        }
+
+        epicTasks.put(new EpicTask(epicTask.getId(), epicTask.getName(), epicTask.getDescription()).freeze());
+        epicSubTaskIds.put(epicTask.getId(), new LinkedHashSet<>());
+        epicRollups.put(epicTask.getId(), new EpicRollup());
+    }
+
+    private void restoreSubTask(SubTask subTask) {
+        SubTask restored = subTask.copy().freeze();
+        SubTask previous = subTasks.put(restored);
+        EpicRollup epicRollup = epicRollups.get(restored.getEpicId());
+
+        if (previous != null) {
+            epicRollup.remove(previous);
+        }
+
+        epicSubTaskIds.get(restored.getEpicId()).add(restored.getId());
+        epicRollup.add(restored);
+        updateEpicTask(restored.getEpicId());
+        indexTask(restored);
     }
 
-    private boolean areIntersectingByPeriod(Task task1, Task task2) {
-        LocalDateTime s1 = task1.getStartTime();
-        LocalDateTime e1 = task1.getEndTime();
-        LocalDateTime s2 = task2.getStartTime();
-        LocalDateTime e2 = task2.getEndTime();
+    // <<< Restoring
 
-        return (isInsidePeriod(s1, e1, s2) || s2.isEqual(s1))
-                || (isInsidePeriod(s1, e1, e2))
-                || (isInsidePeriod(s2, e2, s1) || s1.isEqual(s2))
-                || (isInsidePeriod(s2, e2, e2));
+    /**
+     * Replace the Epic by a new version with values of its Sub Tasks
+     */
+    private void updateEpicTask(int epicId) {
+        EpicTask epicTask = epicTasks.get(epicId).copy();
+        EpicRollup epicRollup = epicRollups.get(epicId);
+        epicTask.setStatus(epicRollup.getStatus());
+        epicTask.setStartTime(epicRollup.getStartTime());
+        epicTask.setDuration(epicRollup.getDuration());
+        epicTask.setEndTime(epicRollup.getEndTime());
+        epicTasks.put(epicTask.freeze());
     }
 
-    private boolean isInsidePeriod(
-            LocalDateTime rangeStart,
-            LocalDateTime rangeEnd,
-            LocalDateTime timePoint
-    ) {
-        return timePoint.isAfter(rangeStart) && timePoint.isBefore(rangeEnd);
+    private int makeId() {
+        return ++this.lastTaskId;
+    }
+
+    /**
+     * Put the Regular or Sub Task into the schedule and the columns, its previous version is replaced by ID
+     */
+    private void indexTask(Task task) {
+        if (isPrioritizable(task)) {
+            this.scheduledTasks.put(task);
+        } else {
+            this.scheduledTasks.remove(task.getId());
+        }
+
+        this.taskColumns.put(task);
+    }
+
+    private LocalDateTime getScheduledStartTime(Task attributes, boolean isAutoScheduled) {
+        return isAutoScheduled && isPrioritizable(attributes)
+                ? scheduledTasks.findFreeSlot(attributes.getStartTime(), attributes.getDuration())
+                : attributes.getStartTime();
+    }
+
+    private boolean isPrioritizable(Task task) {
+        return task.hasStartTime() && task.getDurationSeconds() != 0;
+    }
+
+    private void unindexTask(Task task) {
+        this.scheduledTasks.remove(task.getId());
+        this.taskColumns.remove(task.getId());
+    }
+
+    /* Tasks intersection >>> */
+
+    private void checkIntersection(Task task) {
+        scheduledTasks.findIntersection(task)
+                .ifPresent((priorTaskId) -> {
+                    throw makeIntersectionException(task, getScheduledTask(priorTaskId));
+                });
+    }
+
+    private IllegalArgumentException makeIntersectionException(Task task, Task priorTask) {
+        return new IllegalArgumentException(
+                String.format(
+                        "The task \"%s\" is intersecting with \"%s\"",
+                        task,
+                        priorTask
+                )
+        );
     }
 
     /* <<< Tasks intersection */
@@ -0,0 +1,407 @@
+package models.managers.inmemory;
+
+import models.collections.IntMap;
+import models.tasks.Task;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.function.IntPredicate;
+
+/**
+ * Interval tree of scheduled Tasks, which also visits them in order of start time and ID.
+ * That's an AVL tree ordered by start time and ID where every node also keeps the latest end time of its subtree,
+ * so searching of intersections skips subtrees which end before the searched period.
+ * Nodes also keep the earliest start and the longest free gap of their subtrees, so searching of free periods
+ * skips subtrees without a long enough gap.
+ * Times are compared as epoch seconds of Tasks, so searching doesn't make time objects. Nodes keep only IDs of Tasks,
+ * so Tasks themselves may be stored anywhere.
+ */
+class IntervalIndex {
+    private final IntMap<Node> nodes = new IntMap<>(); // Task ID -> Node
+    private Node root;
+
+    public void put(Task task) {
+        remove(task.getId());
+
+        Node node = new Node(task);
+        root = insert(root, node);
+        nodes.put(task.getId(), node);
+    }
+
+    public void remove(int taskId) {
+        Node node = nodes.remove(taskId);
+
+        if (node != null) {
+            root = delete(root, node.start, node.taskId);
+        }
+    }
+
+    public void clear() {
+        nodes.clear();
+        root = null;
+    }
+
+    /**
+     * Replace the content by Tasks sorted by start time and ID, building a balanced tree at once
+     */
+    public void build(List<Task> sortedTasks) {
+        clear();
+        root = build(sortedTasks, 0, sortedTasks.size() - 1);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Find ID of the earliest Task intersecting with the Task period, skipping the Task itself.
+     * Periods intersect if they have the same start time or if one of them starts inside another one.
+     */
+    public OptionalInt findIntersection(Task task) {
+        return findIntersection(task.getStartEpochSecond(), task.getEndEpochSecond(), taskId -> taskId == task.getId());
+    }
+
+    /**
+     * Find ID of the earliest Task intersecting with the period, skipping Tasks matched by the predicate
+     */
+    public OptionalInt findIntersection(long start, long end, IntPredicate isSkipped) {
+        Node node = findIntersection(root, isSkipped, start, end);
+
+        return node != null ? OptionalInt.of(node.taskId) : OptionalInt.empty();
+    }
+
+    // Searching >>>
+
+    private Node findIntersection(Node node, IntPredicate isSkipped, long start, long end) {
+        if (node == null || node.maxEnd <= start) { // The whole subtree ends before the period
+            return null;
+        }
+
+        Node intersected = findIntersection(node.left, isSkipped, start, end);
+
+        if (intersected != null) {
+            return intersected;
+        }
+
+        boolean startsBeforeEnd = node.start < end;
+
+        if (((startsBeforeEnd && node.end > start) || node.start == start) && !isSkipped.test(node.taskId)) {
+            return node;
+        }
+
+        if (startsBeforeEnd || node.start <= start) { // Right nodes may start inside the period
+            return findIntersection(node.right, isSkipped, start, end);
+        }
+
+        return null;
+    }
+
+    /**
+     * Find the earliest start of a free period of the duration at or after the time.
+     * The period is free if it doesn't intersect with any Task. Tasks start at whole seconds, so the start is too.
+     */
+    public LocalDateTime findFreeSlot(LocalDateTime notBefore, Duration duration) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration of the period must be positive");
+        }
+
+        SlotSearch search = new SlotSearch(
+                Task.toEpochSecondRoundedUp(notBefore),
+                duration.getSeconds() + (duration.getNano() > 0 ? 1 : 0)
+        );
+        findFreeSlot(root, search);
+
+        return Task.toDateTime(search.start);
+    }
+
+    /**
+     * Move the start of the search past the Tasks of the subtree, stopping once the free period is found
+     */
+    private void findFreeSlot(Node node, SlotSearch search) {
+        if (node == null || search.isFound || node.maxEnd <= search.start) { // The subtree ends before the start
+            return;
+        }
+
+        if (node.minStart >= search.getEnd()) { // The whole subtree starts after the period
+            search.isFound = true;
+            return;
+        }
+
+        if (node.maxGapSeconds < search.durationSeconds) { // The period fits only after the subtree
+            search.start = node.maxEnd;
+            return;
+        }
+
+        findFreeSlot(node.left, search);
+
+        if (search.isFound) {
+            return;
+        }
+
+        if (node.start >= search.getEnd()) {
+            search.isFound = true;
+            return;
+        }
+
+        if (node.end > search.start) {
+            search.start = node.end;
+        }
+
+        findFreeSlot(node.right, search);
+    }
+
+    // <<< Searching
+
+    // Visiting >>>
+    // The index mustn't be changed while visiting
+
+    public void forEach(Visitor visitor) {
+        visitAll(root, visitor);
+    }
+
+    /**
+     * Visit Tasks ordered after the start time and ID
+     */
+    public void forEachAfter(long start, int taskId, Visitor visitor) {
+        visitAfter(root, start, taskId, visitor);
+    }
+
+    /**
+     * Visit Tasks which may end after the time, in order of start.
+     * That's Tasks lasting at the time and Tasks starting since the time. Restored Tasks may intersect,
+     * so subtrees ending before the time are skipped instead of stepping back to the last Task starting before it.
+     */
+    public void forEachLastingAt(long time, Visitor visitor) {
+        visitLastingAt(root, time, visitor);
+    }
+
+    /**
+     * Visit the subtree in order, it returns false once the visitor stops
+     */
+    private boolean visitAll(Node node, Visitor visitor) {
+        return node == null
+                || (visitAll(node.left, visitor) && visitor.visit(node.taskId) && visitAll(node.right, visitor));
+    }
+
+    private boolean visitLastingAt(Node node, long time, Visitor visitor) {
+        if (node == null || node.maxEnd < time) { // Empty Tasks starting at the time end at it, so they aren't skipped
+            return true;
+        }
+
+        if (!visitLastingAt(node.left, time, visitor)) {
+            return false;
+        }
+
+        if (node.start >= time) { // Right Nodes start since the time too
+            return visitor.visit(node.taskId) && visitAll(node.right, visitor);
+        }
+
+        return (node.end <= time || visitor.visit(node.taskId)) && visitLastingAt(node.right, time, visitor);
+    }
+
+    private boolean visitAfter(Node node, long start, int taskId, Visitor visitor) {
+        if (node == null) {
+            return true;
+        }
+
+        if (compare(start, taskId, node) >= 0) { // The Node and its left subtree aren't after
+            return visitAfter(node.right, start, taskId, visitor);
+        }
+
+        return visitAfter(node.left, start, taskId, visitor)
+                && visitor.visit(node.taskId)
+                && visitAll(node.right, visitor);
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Visit the Task by its ID, it returns false to stop visiting
+         */
+        boolean visit(int taskId);
+    }
+
+    // <<< Visiting
+
+    // Tree balancing >>>
+
+    private Node build(List<Task> sortedTasks, int from, int to) {
+        if (from > to) {
+            return null;
+        }
+
+        int middle = (from + to) >>> 1;
+        Node node = new Node(sortedTasks.get(middle));
+        nodes.put(node.taskId, node);
+        node.left = build(sortedTasks, from, middle - 1);
+        node.right = build(sortedTasks, middle + 1, to);
+        update(node);
+
+        return node;
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+
+        if (compare(inserted.start, inserted.taskId, node) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+
+        return balance(node);
+    }
+
+    private Node delete(Node node, long start, int taskId) {
+        if (node == null) {
+            return null;
+        }
+
+        int comparison = compare(start, taskId, node);
+
+        if (comparison < 0) {
+            node.left = delete(node.left, start, taskId);
+        } else if (comparison > 0) {
+            node.right = delete(node.right, start, taskId);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+
+            if (node.right == null) {
+                return node.left;
+            }
+
+            Node successor = node.right;
+
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+
+            successor.right = delete(node.right, successor.start, successor.taskId);
+            successor.left = node.left;
+            node = successor;
+        }
+
+        return balance(node);
+    }
+
+    private Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+
+            return rotateRight(node);
+        }
+
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+
+        return right;
+    }
+
+    private void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.minStart = node.start;
+        node.maxEnd = node.end;
+        node.maxGapSeconds = 0;
+
+        if (node.left != null) {
+            node.minStart = node.left.minStart;
+            node.maxGapSeconds = Math.max(node.left.maxGapSeconds, node.start - node.left.maxEnd);
+            node.maxEnd = Math.max(node.maxEnd, node.left.maxEnd);
+        }
+
+        if (node.right != null) {
+            // Gaps of the right subtree may be covered by longer left Tasks, so that's the longest possible gap
+            node.maxGapSeconds = Math.max(
+                    node.maxGapSeconds,
+                    Math.max(node.right.maxGapSeconds, node.right.minStart - node.maxEnd)
+            );
+            node.maxEnd = Math.max(node.maxEnd, node.right.maxEnd);
+        }
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int compare(long start, int taskId, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Integer.compare(taskId, node.taskId);
+    }
+
+    // <<< Tree balancing
+
+    private static class Node {
+        private final int taskId;
+        private final long start;
+        private final long end;
+        private long minStart;
+        private long maxEnd;
+        private long maxGapSeconds;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        public Node(Task task) {
+            this.taskId = task.getId();
+            this.start = task.getStartEpochSecond();
+            this.end = task.getEndEpochSecond();
+            this.minStart = start;
+            this.maxEnd = end;
+        }
+    }
+
+    private static class SlotSearch {
+        private final long durationSeconds;
+        private long start;
+        private boolean isFound;
+
+        public SlotSearch(long start, long durationSeconds) {
+            this.start = start;
+            this.durationSeconds = durationSeconds;
+        }
+
+        public long getEnd() {
+            return start + durationSeconds;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package models.managers.inmemory;
+
+import models.collections.IntIntMap;
+import models.managers.query.TaskStats;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Values of Regular and Sub Tasks used by aggregations, kept in parallel primitive arrays.
+ * Tasks take dense slots, a removed Task is replaced by the last one, so aggregations are plain loops over arrays
+ * without reading Task objects.
+ */
+class TaskColumns {
+    private static final int minCapacity = 16;
+    private static final TaskStatus[] statuses = TaskStatus.values();
+
+    private final IntIntMap slotsById = new IntIntMap();
+    private int[] ids = new int[minCapacity];
+    private byte[] statusOrdinals = new byte[minCapacity];
+    private boolean[] isScheduled = new boolean[minCapacity];
+    private int[] durationSeconds = new int[minCapacity];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Put values of the Task, the previous values of its ID are replaced
+     */
+    public void put(Task task) {
+        int slot = slotsById.getOrDefault(task.getId(), -1);
+
+        if (slot < 0) {
+            if (size == ids.length) {
+                grow();
+            }
+
+            slot = size++;
+            slotsById.put(task.getId(), slot);
+        }
+
+        ids[slot] = task.getId();
+        statusOrdinals[slot] = (byte) task.getStatus().ordinal();
+        isScheduled[slot] = task.hasStartTime();
+        durationSeconds[slot] = task.getDurationSeconds();
+    }
+
+    public void remove(int id) {
+        int slot = slotsById.getOrDefault(id, -1);
+
+        if (slot < 0) {
+            return;
+        }
+
+        int last = --size;
+        slotsById.remove(id);
+
+        if (slot != last) {
+            ids[slot] = ids[last];
+            statusOrdinals[slot] = statusOrdinals[last];
+            isScheduled[slot] = isScheduled[last];
+            durationSeconds[slot] = durationSeconds[last];
+            slotsById.put(ids[slot], slot);
+        }
+    }
+
+    public void clear() {
+        slotsById.clear();
+        size = 0;
+    }
+
+    // Aggregations >>>
+
+    /**
+     * Aggregate the columns, counts of Sub Tasks by Epics are taken as is
+     */
+    public TaskStats makeStats(Map<Integer, Integer> epicSubTaskCounts) {
+        int[] counts = new int[statuses.length];
+        long[] secondsByStatus = new long[statuses.length];
+        long scheduledSeconds = 0;
+
+        for (int slot = 0; slot < size; slot++) {
+            int status = statusOrdinals[slot];
+            counts[status]++;
+            secondsByStatus[status] += durationSeconds[slot];
+        }
+
+        for (int slot = 0; slot < size; slot++) {
+            scheduledSeconds += isScheduled[slot] ? durationSeconds[slot] : 0;
+        }
+
+        EnumMap<TaskStatus, Integer> countMap = new EnumMap<>(TaskStatus.class);
+        EnumMap<TaskStatus, Duration> durationMap = new EnumMap<>(TaskStatus.class);
+
+        for (TaskStatus status : statuses) {
+            countMap.put(status, counts[status.ordinal()]);
+            durationMap.put(status, Duration.ofSeconds(secondsByStatus[status.ordinal()]));
+        }
+
+        return new TaskStats(countMap, durationMap, Duration.ofSeconds(scheduledSeconds), epicSubTaskCounts);
+    }
+
+    // <<< Aggregations
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        statusOrdinals = Arrays.copyOf(statusOrdinals, capacity);
+        isScheduled = Arrays.copyOf(isScheduled, capacity);
+        durationSeconds = Arrays.copyOf(durationSeconds, capacity);
+    }
+}
@@ -0,0 +1,54 @@
+package models.managers.inmemory;
+
+import models.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Stored Tasks of one type by their IDs.
+ * Got Tasks are frozen snapshots, so a table may keep Tasks in another form and make them on getting.
+ * The table mustn't be changed while iterating, except for replacing Tasks of existing IDs.
+ */
+public interface TaskTable<T extends Task> {
+    T get(int id);
+
+    /**
+     * Put the frozen Task by its ID, returning the previous Task of the ID or null
+     */
+    T put(T task);
+
+    /**
+     * Remove the Task, returning it or null
+     */
+    T remove(int id);
+
+    void clear();
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    void forEach(Consumer<? super T> action);
+
+    void forEachId(IntConsumer action);
+
+    /**
+     * Visit IDs greater than the ID in ascending order, until the action returns false
+     */
+    void forEachIdAfter(int afterId, IntPredicate action);
+
+    /**
+     * Collect Tasks into a new list
+     */
+    default ArrayList<T> values() {
+        ArrayList<T> values = new ArrayList<>(size());
+        forEach(values::add);
+
+        return values;
+    }
+}
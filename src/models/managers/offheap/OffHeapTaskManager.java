@@ -0,0 +1,27 @@
+package models.managers.offheap;
+
+import models.managers.inmemory.InMemoryTaskManager;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import models.tasks.TaskType;
+
+/**
+ * Task Manager keeping Tasks out of the heap, so the garbage collector doesn't walk millions of them.
+ * Tasks are made from their records on every getting. The store itself keeps only primitive arrays in the heap,
+ * but indexes of InMemoryTaskManager stay there as objects per Task: Sub IDs of Epics, rollups of Epics,
+ * nodes of the interval index of scheduled Tasks, and the history. Stats columns are primitive arrays.
+ */
+public class OffHeapTaskManager extends InMemoryTaskManager {
+    public OffHeapTaskManager() {
+        this(new OffHeapTaskStore());
+    }
+
+    private OffHeapTaskManager(OffHeapTaskStore store) {
+        super(
+                store.getTable(TaskType.REGULAR, Task.class),
+                store.getTable(TaskType.EPIC, EpicTask.class),
+                store.getTable(TaskType.SUB, SubTask.class)
+        );
+    }
+}
@@ -0,0 +1,399 @@
+package models.managers.offheap;
+
+import models.collections.IntIntMap;
+import models.collections.SparseBitSet;
+import models.managers.inmemory.TaskTable;
+import models.tasks.*;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Tasks of all types kept as fixed-width records in direct buffers, names and descriptions are kept in a string arena.
+ * Records are packed into slots: IDs are mapped to slots, and slots of removed Tasks are reused by new ones.
+ * Once most slots are free, live records are moved into new slabs, so the memory follows the number of Tasks
+ * rather than the highest ID.
+ * Record:
+ * - Type byte, 0 for a free slot, otherwise the type ordinal + 1
+ * - Status byte
+ * - Epic ID int, only for Sub Tasks. Free slots keep the next free slot there.
+ * - Epoch seconds of start and end time as longs
+ * - Seconds of duration as int
+ * - ID int
+ * - References of name and description in the arena as longs
+ * The heap keeps only primitive indexes: the map of IDs to slots and ordered IDs of every type.
+ * Tasks are made from records on every reading, which uses absolute positions only, so it may run in parallel.
+ */
+class OffHeapTaskStore {
+    private static final int slabBits = 14; // Records in a slab, that's less than a megabyte
+    private static final int recordSize = 48;
+    private static final int typeOffset = 0;
+    private static final int statusOffset = 1;
+    private static final int epicIdOffset = 4;
+    private static final int nextFreeSlotOffset = epicIdOffset;
+    private static final int startOffset = 8;
+    private static final int endOffset = 16;
+    private static final int durationOffset = 24;
+    private static final int idOffset = 28;
+    private static final int nameOffset = 32;
+    private static final int descriptionOffset = 40;
+    private static final int noSlot = -1;
+    private static final TaskType[] taskTypes = TaskType.values();
+    private static final TaskStatus[] taskStatuses = TaskStatus.values();
+
+    private ByteBuffer[] slabs = new ByteBuffer[0];
+    private StringArena strings = new StringArena();
+    private final IntIntMap slotsById = new IntIntMap();
+    private final SparseBitSet[] idsByType = new SparseBitSet[taskTypes.length];
+    private int usedSlots = 0; // Slots taken from slabs, including free ones
+    private int freeSlot = noSlot; // The head of the list of free slots
+
+    public OffHeapTaskStore() {
+        for (int i = 0; i < idsByType.length; i++) {
+            idsByType[i] = new SparseBitSet();
+        }
+    }
+
+    /**
+     * Get the view of Tasks of the type
+     */
+    public <T extends Task> TaskTable<T> getTable(TaskType type, Class<T> taskClass) {
+        return new Table<>(type, taskClass);
+    }
+
+    public long getStringLiveBytes() {
+        return strings.getLiveBytes();
+    }
+
+    public long getStringGarbageBytes() {
+        return strings.getGarbageBytes();
+    }
+
+    /**
+     * Slots taken from slabs, including free ones
+     */
+    int getUsedSlots() {
+        return usedSlots;
+    }
+
+    // Records >>>
+
+    private Task read(int id, TaskType type) {
+        int slot = slotsById.getOrDefault(id, noSlot);
+
+        if (slot == noSlot) {
+            return null;
+        }
+
+        ByteBuffer slab = getSlab(slot);
+        int offset = getOffset(slot);
+
+        return slab.get(offset + typeOffset) == toByte(type) ? makeTask(id, slab, offset) : null;
+    }
+
+    /**
+     * Write the record of the Task, returning the previous Task of the ID or null
+     */
+    private Task write(Task task, TaskType type) {
+        int id = task.getId();
+
+        if (id <= 0) {
+            throw new IllegalArgumentException("ID of the stored task must be positive, but it's " + id);
+        }
+
+        int slot = slotsById.getOrDefault(id, noSlot);
+        Task previous = null;
+
+        if (slot == noSlot) {
+            slot = takeSlot();
+            slotsById.put(id, slot);
+            idsByType[type.ordinal()].add(id);
+        } else if (getSlab(slot).get(getOffset(slot) + typeOffset) != toByte(type)) {
+            throw new IllegalArgumentException("The ID " + id + " is taken by a task of another type");
+        } else {
+            previous = makeTask(id, getSlab(slot), getOffset(slot));
+        }
+
+        ByteBuffer slab = getSlab(slot);
+        int offset = getOffset(slot);
+        long nameReference = previous == null
+                ? strings.put(task.getName())
+                : replaceString(slab.getLong(offset + nameOffset), previous.getName(), task.getName());
+        long descriptionReference = previous == null
+                ? strings.put(task.getDescription())
+                : replaceString(slab.getLong(offset + descriptionOffset), previous.getDescription(), task.getDescription());
+
+        slab.put(offset + typeOffset, toByte(type))
+                .put(offset + statusOffset, (byte) task.getStatus().ordinal())
+                .putInt(offset + epicIdOffset, task instanceof SubTask subTask ? subTask.getEpicId() : 0)
+                .putLong(offset + startOffset, task.getStartEpochSecond())
+                .putLong(offset + endOffset, task.getEndEpochSecond())
+                .putInt(offset + durationOffset, task.getDurationSeconds())
+                .putInt(offset + idOffset, id)
+                .putLong(offset + nameOffset, nameReference)
+                .putLong(offset + descriptionOffset, descriptionReference);
+        compactStringsIfFragmented();
+
+        return previous;
+    }
+
+    private Task delete(int id, TaskType type) {
+        Task previous = read(id, type);
+
+        if (previous != null) {
+            freeRecord(id);
+            idsByType[type.ordinal()].remove(id);
+            compactStringsIfFragmented();
+            compactRecordsIfSparse();
+        }
+
+        return previous;
+    }
+
+    /**
+     * Delete all records of the type. Slabs and strings are dropped at once if there are no other records.
+     */
+    private void clear(TaskType type) {
+        SparseBitSet ids = idsByType[type.ordinal()];
+
+        if (ids.size() == slotsById.size()) {
+            slabs = new ByteBuffer[0];
+            strings = new StringArena();
+            slotsById.clear();
+            ids.clear();
+            usedSlots = 0;
+            freeSlot = noSlot;
+            return;
+        }
+
+        for (int id = ids.next(0); id >= 0; id = ids.next(id + 1)) {
+            freeRecord(id);
+        }
+
+        ids.clear();
+        compactStringsIfFragmented();
+        compactRecordsIfSparse();
+    }
+
+    /**
+     * Free strings and the slot of the record, the slot is put at the head of free slots
+     */
+    private void freeRecord(int id) {
+        int slot = slotsById.getOrDefault(id, noSlot);
+        ByteBuffer slab = getSlab(slot);
+        int offset = getOffset(slot);
+
+        strings.free(slab.getLong(offset + nameOffset));
+        strings.free(slab.getLong(offset + descriptionOffset));
+        slab.put(offset + typeOffset, (byte) 0)
+                .putInt(offset + nextFreeSlotOffset, freeSlot);
+        freeSlot = slot;
+        slotsById.remove(id);
+    }
+
+    private int takeSlot() {
+        if (freeSlot != noSlot) {
+            int slot = freeSlot;
+            freeSlot = getSlab(slot).getInt(getOffset(slot) + nextFreeSlotOffset);
+
+            return slot;
+        }
+
+        int slabIndex = usedSlots >>> slabBits;
+
+        if (slabIndex == slabs.length) {
+            slabs = Arrays.copyOf(slabs, Math.max(1, slabs.length * 2));
+        }
+
+        if (slabs[slabIndex] == null) {
+            slabs[slabIndex] = ByteBuffer.allocateDirect(recordSize << slabBits);
+        }
+
+        return usedSlots++;
+    }
+
+    /**
+     * Get the reference of the new value, unchanged strings are kept, e.g. names of Epics updated by their Subs
+     */
+    private long replaceString(long storedReference, String storedValue, String value) {
+        if (Objects.equals(storedValue, value)) {
+            return storedReference;
+        }
+
+        strings.free(storedReference);
+        return strings.put(value);
+    }
+
+    /**
+     * Visit IDs of the type greater than the ID in order, until the action returns false
+     */
+    private void forEachIdAfter(TaskType type, int afterId, IntPredicate action) {
+        SparseBitSet ids = idsByType[type.ordinal()];
+
+        for (int id = ids.next(afterId + 1); id >= 0 && action.test(id); id = ids.next(id + 1)) {
+            // Visit until the action stops
+        }
+    }
+
+    private Task makeTask(int id, ByteBuffer slab, int offset) {
+        String name = strings.get(slab.getLong(offset + nameOffset));
+        String description = strings.get(slab.getLong(offset + descriptionOffset));
+        long startEpochSecond = slab.getLong(offset + startOffset);
+        Duration duration = Duration.ofSeconds(slab.getInt(offset + durationOffset));
+
+        Task task = switch (taskTypes[slab.get(offset + typeOffset) - 1]) {
+            case REGULAR -> new Task(id, name, description, Task.toDateTime(startEpochSecond), duration);
+            case EPIC -> new EpicTask(
+                    id,
+                    name,
+                    description,
+                    Task.toDateTime(startEpochSecond),
+                    duration,
+                    Task.toDateTime(slab.getLong(offset + endOffset))
+            );
+            case SUB -> new SubTask(
+                    id,
+                    slab.getInt(offset + epicIdOffset),
+                    name,
+                    description,
+                    Task.toDateTime(startEpochSecond),
+                    duration
+            );
+        };
+        task.setStatus(taskStatuses[slab.get(offset + statusOffset)]);
+
+        return task.freeze();
+    }
+
+    // <<< Records
+
+    /**
+     * Move live strings into a new arena, so the garbage is released with the old one
+     */
+    private void compactStringsIfFragmented() {
+        if (!strings.isFragmented()) {
+            return;
+        }
+
+        StringArena compacted = new StringArena();
+
+        for (int slot = 0; slot < usedSlots; slot++) {
+            ByteBuffer slab = getSlab(slot);
+            int offset = getOffset(slot);
+
+            if (slab.get(offset + typeOffset) != 0) {
+                slab.putLong(offset + nameOffset, compacted.copy(strings, slab.getLong(offset + nameOffset)));
+                slab.putLong(
+                        offset + descriptionOffset,
+                        compacted.copy(strings, slab.getLong(offset + descriptionOffset))
+                );
+            }
+        }
+
+        strings = compacted;
+    }
+
+    /**
+     * Move live records into new slabs once most of the slots are free, so the old slabs are released
+     */
+    private void compactRecordsIfSparse() {
+        if (usedSlots <= 1 << slabBits || slotsById.size() > usedSlots / 4) {
+            return;
+        }
+
+        ByteBuffer[] compacted = new ByteBuffer[(slotsById.size() >>> slabBits) + 1];
+        int compactedSlots = 0;
+
+        for (int slot = 0; slot < usedSlots; slot++) {
+            ByteBuffer slab = getSlab(slot);
+            int offset = getOffset(slot);
+
+            if (slab.get(offset + typeOffset) == 0) {
+                continue;
+            }
+
+            int slabIndex = compactedSlots >>> slabBits;
+
+            if (compacted[slabIndex] == null) {
+                compacted[slabIndex] = ByteBuffer.allocateDirect(recordSize << slabBits);
+            }
+
+            compacted[slabIndex].put(getOffset(compactedSlots), slab, offset, recordSize);
+            slotsById.put(slab.getInt(offset + idOffset), compactedSlots++);
+        }
+
+        slabs = compacted;
+        usedSlots = compactedSlots;
+        freeSlot = noSlot;
+    }
+
+    private ByteBuffer getSlab(int slot) {
+        return slabs[slot >>> slabBits];
+    }
+
+    private static int getOffset(int slot) {
+        return (slot & ((1 << slabBits) - 1)) * recordSize;
+    }
+
+    private static byte toByte(TaskType type) {
+        return (byte) (type.ordinal() + 1);
+    }
+
+    private class Table<T extends Task> implements TaskTable<T> {
+        private final TaskType type;
+        private final Class<T> taskClass;
+
+        public Table(TaskType type, Class<T> taskClass) {
+            this.type = type;
+            this.taskClass = taskClass;
+        }
+
+        @Override
+        public T get(int id) {
+            return taskClass.cast(read(id, type));
+        }
+
+        @Override
+        public T put(T task) {
+            return taskClass.cast(write(task, type));
+        }
+
+        @Override
+        public T remove(int id) {
+            return taskClass.cast(delete(id, type));
+        }
+
+        @Override
+        public void clear() {
+            OffHeapTaskStore.this.clear(type);
+        }
+
+        @Override
+        public int size() {
+            return idsByType[type.ordinal()].size();
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            forEachId(id -> action.accept(get(id)));
+        }
+
+        @Override
+        public void forEachId(IntConsumer action) {
+            forEachIdAfter(0, id -> {
+                action.accept(id);
+                return true;
+            });
+        }
+
+        @Override
+        public void forEachIdAfter(int afterId, IntPredicate action) {
+            OffHeapTaskStore.this.forEachIdAfter(type, afterId, action);
+        }
+    }
+}
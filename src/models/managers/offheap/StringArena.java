@@ -0,0 +1,97 @@
+package models.managers.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+
+/**
+ * Append-only storage of strings in direct buffers.
+ * A string is kept as its length and UTF-8 bytes, and it's referenced by the slab index and the offset.
+ * Freed strings stay in place as garbage until the owner copies live strings into a new arena.
+ * Reading uses absolute positions only, so strings may be read by several threads at once.
+ */
+class StringArena {
+    public static final long noString = -1; // Reference of null
+    private static final int slabSize = 1 << 20;
+
+    private final ArrayList<ByteBuffer> slabs = new ArrayList<>();
+    private long liveBytes;
+    private long garbageBytes;
+
+    public long put(String value) {
+        return value == null ? noString : put(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String get(long reference) {
+        if (reference == noString) {
+            return null;
+        }
+
+        return new String(getBytes(reference), StandardCharsets.UTF_8);
+    }
+
+    public void free(long reference) {
+        if (reference == noString) {
+            return;
+        }
+
+        int size = Integer.BYTES + getSlab(reference).getInt(getOffset(reference));
+        liveBytes -= size;
+        garbageBytes += size;
+    }
+
+    /**
+     * Copy the string of another arena, returning its reference in this arena
+     */
+    public long copy(StringArena source, long reference) {
+        return reference == noString ? noString : put(source.getBytes(reference));
+    }
+
+    /**
+     * Check if most of the arena is garbage, so copying of live strings is worth it
+     */
+    public boolean isFragmented() {
+        return garbageBytes > slabSize && garbageBytes > liveBytes;
+    }
+
+    public long getLiveBytes() {
+        return liveBytes;
+    }
+
+    public long getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    private long put(byte[] bytes) {
+        int size = Integer.BYTES + bytes.length;
+        ByteBuffer slab = slabs.isEmpty() ? null : slabs.getLast();
+
+        if (slab == null || slab.remaining() < size) { // Long strings get their own slabs
+            slab = ByteBuffer.allocateDirect(Math.max(slabSize, size));
+            slabs.add(slab);
+        }
+
+        long reference = ((long) (slabs.size() - 1) << 32) | slab.position();
+        slab.putInt(bytes.length).put(bytes);
+        liveBytes += size;
+
+        return reference;
+    }
+
+    private byte[] getBytes(long reference) {
+        ByteBuffer slab = getSlab(reference);
+        int offset = getOffset(reference);
+        byte[] bytes = new byte[slab.getInt(offset)];
+        slab.get(offset + Integer.BYTES, bytes);
+
+        return bytes;
+    }
+
+    private ByteBuffer getSlab(long reference) {
+        return slabs.get((int) (reference >>> 32));
+    }
+
+    private static int getOffset(long reference) {
+        return (int) reference;
+    }
+}
@@ -0,0 +1,25 @@
+package models.managers.query;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+/**
+ * Tasks of one page and the cursor of the next page if there are more Tasks
+ */
+public class TaskPage<T> {
+    private final ArrayList<T> tasks;
+    private final String nextCursor;
+
+    public TaskPage(ArrayList<T> tasks, String nextCursor) {
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    public ArrayList<T> getTasks() {
+        return tasks;
+    }
+
+    public Optional<String> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
@@ -0,0 +1,109 @@
+package models.managers.query;
+
+import models.tasks.SubTask;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Page and filters of a Task list. Every filter is optional.
+ * The time window keeps scheduled Tasks overlapping it, unscheduled Tasks are skipped by any of its bounds.
+ */
+public class TaskQuery {
+    private int limit = Integer.MAX_VALUE;
+    private String cursor;
+    private TaskStatus status;
+    private Integer epicId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public TaskQuery setLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Cursor of the previous page, or null for the first page
+     */
+    public String getCursor() {
+        return cursor;
+    }
+
+    public TaskQuery setCursor(String cursor) {
+        this.cursor = cursor;
+        return this;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public TaskQuery setStatus(TaskStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * ID of the Epic whose Sub Tasks are kept
+     */
+    public Integer getEpicId() {
+        return epicId;
+    }
+
+    public TaskQuery setEpicId(Integer epicId) {
+        this.epicId = epicId;
+        return this;
+    }
+
+    public LocalDateTime getFrom() {
+        return from;
+    }
+
+    public TaskQuery setFrom(LocalDateTime from) {
+        this.from = from;
+        return this;
+    }
+
+    public LocalDateTime getTo() {
+        return to;
+    }
+
+    public TaskQuery setTo(LocalDateTime to) {
+        this.to = to;
+        return this;
+    }
+
+    public boolean hasTimeWindow() {
+        return from != null || to != null;
+    }
+
+    /**
+     * Check the filters, but not the page
+     */
+    public boolean matches(Task task) {
+        if (status != null && task.getStatus() != status) {
+            return false;
+        }
+
+        if (epicId != null && !(task instanceof SubTask subTask && subTask.getEpicId() == epicId)) {
+            return false;
+        }
+
+        if (!hasTimeWindow()) {
+            return true;
+        }
+
+        return task.hasStartTime()
+                && (to == null || task.getStartEpochSecond() < Task.toEpochSecondRoundedUp(to))
+                && (from == null || task.getEndEpochSecond() > Task.toEpochSecond(from));
+    }
+}
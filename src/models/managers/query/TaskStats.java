@@ -0,0 +1,59 @@
+package models.managers.query;
+
+import models.tasks.TaskStatus;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aggregates of Regular and Sub Tasks.
+ * Epics aren't counted, since their statuses and durations are derived from their Sub Tasks.
+ */
+public class TaskStats {
+    private final EnumMap<TaskStatus, Integer> counts;
+    private final EnumMap<TaskStatus, Duration> durations;
+    private final Duration scheduledDuration;
+    private final Map<Integer, Integer> epicSubTaskCounts;
+
+    public TaskStats(
+            EnumMap<TaskStatus, Integer> counts,
+            EnumMap<TaskStatus, Duration> durations,
+            Duration scheduledDuration,
+            Map<Integer, Integer> epicSubTaskCounts
+    ) {
+        this.counts = counts;
+        this.durations = durations;
+        this.scheduledDuration = scheduledDuration;
+        this.epicSubTaskCounts = epicSubTaskCounts;
+    }
+
+    public int getCount() {
+        return counts.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    public int getCount(TaskStatus status) {
+        return counts.getOrDefault(status, 0);
+    }
+
+    /**
+     * Get the total duration of Tasks with the status
+     */
+    public Duration getDuration(TaskStatus status) {
+        return durations.getOrDefault(status, Duration.ZERO);
+    }
+
+    /**
+     * Get the total duration of prioritized Tasks
+     */
+    public Duration getScheduledDuration() {
+        return scheduledDuration;
+    }
+
+    /**
+     * Get counts of Sub Tasks by Epic IDs, Epics without Sub Tasks are included too
+     */
+    public Map<Integer, Integer> getEpicSubTaskCounts() {
+        return epicSubTaskCounts;
+    }
+}
@@ -0,0 +1,31 @@
+package models.managers.query;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Free period of the schedule
+ */
+public class TimeSlot {
+    private final LocalDateTime startTime;
+    private final LocalDateTime endTime;
+    private final Duration duration;
+
+    public TimeSlot(LocalDateTime startTime, Duration duration) {
+        this.startTime = startTime;
+        this.endTime = startTime.plus(duration);
+        this.duration = duration;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+}
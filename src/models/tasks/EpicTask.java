@@ -4,7 +4,7 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 
 public class EpicTask extends Task {
-    private LocalDateTime endTime = LocalDateTime.MIN;
+    private long endEpochSecond = unscheduledEpochSecond; // The end of Subs, which isn't the start plus the duration
 
     public EpicTask(
             int id,
@@ -23,12 +23,17 @@ public class EpicTask extends Task {
             LocalDateTime endTime
     ) {
         super(id, name, description, startTime, duration);
-        this.endTime = endTime;
+        this.endEpochSecond = toEpochSecond(endTime);
     }
 
     @Override
-    public LocalDateTime getEndTime() {
-        return endTime;
+    public long getEndEpochSecond() {
+        return endEpochSecond;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        checkMutable();
+        this.endEpochSecond = toEpochSecond(endTime);
     }
 
     public void fill(EpicTask task) {
@@ -36,6 +41,24 @@ public class EpicTask extends Task {
         this.setDescription(task.getDescription());
     }
 
+    public EpicTask update(EpicTask task) {
+        EpicTask updated = copy();
+        updated.fill(task);
+
+        return updated.freeze();
+    }
+
+    @Override
+    public EpicTask freeze() {
+        super.freeze();
+        return this;
+    }
+
+    @Override
+    public EpicTask snapshot() {
+        return isFrozen() ? this : copy().freeze();
+    }
+
     public EpicTask copy() {
         EpicTask epicTask = new EpicTask(
                 getId(),
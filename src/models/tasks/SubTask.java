@@ -28,11 +28,33 @@ public class SubTask extends Task {
     public void fill(SubTask task) {
         this.setName(task.getName());
         this.setDescription(task.getDescription());
-        this.setStatus(task.getStatus());
+
+        if (task.getStatus() != null) {
+            this.setStatus(task.getStatus());
+        }
+
         this.setStartTime(task.getStartTime());
         this.setDuration(task.getDuration());
     }
 
+    public SubTask update(SubTask task) {
+        SubTask updated = copy();
+        updated.fill(task);
+
+        return updated.freeze();
+    }
+
+    @Override
+    public SubTask freeze() {
+        super.freeze();
+        return this;
+    }
+
+    @Override
+    public SubTask snapshot() {
+        return isFrozen() ? this : copy().freeze();
+    }
+
     public SubTask copy() {
         SubTask subTask = new SubTask(
                 getId(),
@@ -2,15 +2,29 @@ package models.tasks;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-
+import java.time.ZoneOffset;
+
+/**
+ * Task attributes.
+ * A frozen Task is an immutable snapshot, so it's shared without copying. Its setters throw, so changes are made
+ * on a copy, which is a new version of the Task.
+ * Times are kept as UTC epoch seconds and the status as its ordinal, so time objects are made only by getters.
+ * Attributes of updates may have no status, then the status of the updated Task is kept.
+ */
 public class Task {
+    static final long unscheduledEpochSecond = LocalDateTime.MIN.toEpochSecond(ZoneOffset.UTC);
+    private static final TaskStatus[] statuses = TaskStatus.values();
+    private static final byte noStatus = -1;
+
     private final int id;
     private String name;
 
     private String description;
-    private TaskStatus status;
-    private LocalDateTime startTime = LocalDateTime.MIN;
-    private Duration duration = Duration.ZERO;
+    private byte status;
+    private long startEpochSecond = unscheduledEpochSecond;
+    private int durationSeconds;
+    private long endEpochSecond = unscheduledEpochSecond;
+    private boolean isFrozen;
 
     public Task(
             int id,
@@ -20,7 +34,7 @@ public class Task {
         this.id = id;
         this.name = name;
         this.description = description;
-        this.status = TaskStatus.NEW;
+        this.status = (byte) TaskStatus.NEW.ordinal();
     }
 
     public Task(
@@ -30,12 +44,10 @@ public class Task {
             LocalDateTime startTime,
             Duration duration
     ) {
-        this.id = id;
-        this.name = name;
-        this.description = description;
-        this.status = TaskStatus.NEW;
-        this.startTime = startTime;
-        this.duration = duration;
+        this(id, name, description);
+        this.startEpochSecond = toEpochSecond(startTime);
+        this.durationSeconds = toSeconds(duration);
+        this.endEpochSecond = startEpochSecond + durationSeconds;
     }
 
     public int getId() {
@@ -47,6 +59,7 @@ public class Task {
     }
 
     public void setName(String name) {
+        checkMutable();
         this.name = name;
     }
 
@@ -55,37 +68,98 @@ public class Task {
     }
 
     public void setDescription(String description) {
+        checkMutable();
         this.description = description;
     }
 
+    /**
+     * Get the status, it's null only for attributes without the status
+     */
     public TaskStatus getStatus() {
-        return status;
+        return status == noStatus ? null : statuses[status];
     }
 
     public void setStatus(TaskStatus status) {
-        this.status = status;
+        checkMutable();
+        this.status = status == null ? noStatus : (byte) status.ordinal();
     }
 
     public LocalDateTime getStartTime() {
-        return startTime;
+        return toDateTime(startEpochSecond);
     }
 
+    /**
+     * Set the start time, it's truncated to seconds
+     */
     public void setStartTime(LocalDateTime startTime) {
-        this.startTime = startTime;
+        checkMutable();
+        this.startEpochSecond = toEpochSecond(startTime);
+        this.endEpochSecond = startEpochSecond + durationSeconds;
     }
 
     public Duration getDuration() {
-        return duration;
+        return Duration.ofSeconds(durationSeconds);
     }
 
+    /**
+     * Set the duration, it's truncated to seconds
+     */
     public void setDuration(Duration duration) {
-        this.duration = duration;
+        checkMutable();
+        this.durationSeconds = toSeconds(duration);
+        this.endEpochSecond = startEpochSecond + durationSeconds;
     }
 
     public LocalDateTime getEndTime() {
-        return this.startTime.plus(duration);
+        return toDateTime(getEndEpochSecond());
+    }
+
+    // Compact times >>>
+    // They're compared without making time objects
+
+    public long getStartEpochSecond() {
+        return startEpochSecond;
+    }
+
+    public long getEndEpochSecond() {
+        return endEpochSecond;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public boolean hasStartTime() {
+        return startEpochSecond != unscheduledEpochSecond;
+    }
+
+    public static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Get epoch second of the time rounded up, so whole seconds before the result are before the time
+     */
+    public static long toEpochSecondRoundedUp(LocalDateTime time) {
+        return toEpochSecond(time) + (time.getNano() > 0 ? 1 : 0);
+    }
+
+    public static LocalDateTime toDateTime(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
     }
 
+    private static int toSeconds(Duration duration) {
+        long seconds = duration.getSeconds();
+
+        if (seconds != (int) seconds) {
+            throw new IllegalArgumentException("Duration " + duration + " is too long");
+        }
+
+        return (int) seconds;
+    }
+
+    // <<< Compact times
+
     @Override
     public int hashCode() {
         return id;
@@ -98,11 +172,16 @@ public class Task {
     }
 
     /**
-     * Fill the Task by values of another Task
+     * Fill the Task by values of another Task, the status is kept if another Task has none
      */
     public void fill(Task task) {
         this.setName(task.getName());
         this.setDescription(task.getDescription());
+
+        if (task.getStatus() != null) {
+            this.setStatus(task.getStatus());
+        }
+
         this.setStartTime(task.getStartTime());
         this.setDuration(task.getDuration());
     }
@@ -123,6 +202,45 @@ public class Task {
         return subTask;
     }
 
+    /**
+     * Make a new version of the Task filled by values of another Task, the Task itself isn't changed
+     */
+    public Task update(Task task) {
+        Task updated = copy();
+        updated.fill(task);
+
+        return updated.freeze();
+    }
+
+    // Snapshots >>>
+
+    /**
+     * Forbid changing of the Task, so it may be shared
+     */
+    public Task freeze() {
+        isFrozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return isFrozen;
+    }
+
+    /**
+     * Get the immutable snapshot of the Task, it's the Task itself if it's already frozen
+     */
+    public Task snapshot() {
+        return isFrozen ? this : copy().freeze();
+    }
+
+    protected void checkMutable() {
+        if (isFrozen) {
+            throw new UnsupportedOperationException("The task " + id + " is a shared snapshot, copy it to change");
+        }
+    }
+
+    // <<< Snapshots
+
     @Override
     public String toString() {
         return String.format(
@@ -0,0 +1,69 @@
+package http;
+
+import com.google.gson.Gson;
+import http.config.ExecutionMode;
+import http.config.HttpTaskServerConfig;
+import http.serialization.SerializerFactory;
+import models.factories.TasksFactory;
+import models.managers.Managers;
+import models.managers.TaskManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @see HttpTaskServer
+ */
+public class HttpTaskServerTest {
+    private final Gson serializer = SerializerFactory.getSerializer();
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void shouldProcessRequestsOnVirtualThreads() throws IOException {
+        testParallelRequests(ExecutionMode.VIRTUAL_THREADS);
+    }
+
+    @Test
+    public void shouldProcessRequestsOnPlatformPool() throws IOException {
+        testParallelRequests(ExecutionMode.PLATFORM_POOL);
+    }
+
+    private void testParallelRequests(ExecutionMode executionMode) throws IOException {
+        int requestsNumber = 50;
+        TaskManager manager = new Managers().getConcurrentTaskManager();
+        HttpTaskServer server = new HttpTaskServer(
+                manager,
+                new HttpTaskServerConfig(8082, 64, executionMode, 4)
+        );
+        server.start();
+
+        try {
+            ArrayList<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+
+            for (int i = 0; i < requestsNumber; i++) {
+                responses.add(client.sendAsync(
+                        HttpRequest.newBuilder()
+                                .uri(URI.create(server.getBaseUriStr() + "/tasks"))
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                        serializer.toJson(TasksFactory.setTimeRange(TasksFactory.makeTask(), i, i + 1))
+                                ))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofString()
+                ));
+            }
+
+            responses.forEach(response -> assertEquals(201, response.join().statusCode()));
+            assertEquals(requestsNumber, manager.getTasks().size());
+        } finally {
+            server.stop();
+        }
+    }
+}
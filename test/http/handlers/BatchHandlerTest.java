@@ -0,0 +1,62 @@
+package http.handlers;
+
+import assertions.HttpResponseAssertions;
+import http.tokens.TaskListTypeToken;
+import models.factories.TasksFactory;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see BatchHandler
+ */
+public class BatchHandlerTest extends HttpTest {
+    @Test
+    public void shouldApplyBatch() throws IOException, InterruptedException {
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        Task removedTask = manager.createTask(TasksFactory.makeTask());
+        SubTask sub = TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 0, 2);
+
+        HttpResponse<String> response = doPostRequest(
+                "/batch",
+                String.format(
+                        "[{\"operation\": \"CREATE\", \"task\": %s}, {\"operation\": \"REMOVE\", \"id\": %d}]",
+                        serializer.toJson(sub),
+                        removedTask.getId()
+                )
+        );
+
+        HttpResponseAssertions.assertCreated(response);
+        List<Task> results = serializer.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertInstanceOf(SubTask.class, results.getFirst()); // Read by the "type" field
+        assertEquals(removedTask.getId(), results.getLast().getId());
+        assertEquals(1, manager.getEpicSubTasks(epic.getId()).size());
+        assertTrue(manager.getTasks().isEmpty());
+    }
+
+    @Test
+    public void shouldRejectBatch() throws IOException, InterruptedException {
+        Task task = manager.createTask(TasksFactory.makeTask());
+
+        HttpResponse<String> response1 = doPostRequest(
+                "/batch",
+                String.format(
+                        "[{\"operation\": \"REMOVE\", \"id\": %d}, {\"operation\": \"REMOVE\", \"id\": %d}]",
+                        task.getId(),
+                        task.getId()
+                )
+        );
+        HttpResponse<String> response2 = doPostRequest("/batch", "[{\"id\": 1}]");
+
+        HttpResponseAssertions.assertNotAcceptable(response1);
+        HttpResponseAssertions.assertNotAcceptable(response2);
+        assertEquals(1, manager.getTasks().size());
+    }
+}
@@ -62,6 +62,16 @@ public class EpicsHandlerTest extends HandlerTest<EpicTask> {
         testGetTask();
     }
 
+    @Test
+    public void shouldGetTaskWithLongId() throws IOException, InterruptedException {
+        testGetTaskWithLongId();
+    }
+
+    @Test
+    public void shouldNotFoundPath() throws IOException, InterruptedException {
+        testNotFoundPath();
+    }
+
     @Test
     public void shouldNotFoundTask() throws IOException, InterruptedException {
         testNotFoundTask();
@@ -71,6 +71,27 @@ public abstract class HandlerTest<T extends Task> extends HttpTest {
         HttpResponseAssertions.assertNotFound(response);
     }
 
+    public void testGetTaskWithLongId() throws IOException, InterruptedException {
+        T task = createTasks(12).getLast();
+
+        HttpResponse<String> response = doGetRequest(getBasePath() + "/" + task.getId());
+
+        HttpResponseAssertions.assertOk(response);
+        TaskAssertions.assertEqualByContent(
+                task, // Manager Task
+                serializer.fromJson( // Response Tasks
+                        response.body(),
+                        getTaskClass()
+                )
+        );
+    }
+
+    public void testNotFoundPath() throws IOException, InterruptedException {
+        HttpResponse<String> response = doGetRequest(getBasePath() + "/abc");
+
+        HttpResponseAssertions.assertNotFound(response);
+    }
+
     public void testDeleteTask() throws IOException, InterruptedException {
         int tasksCount = 3;
         ArrayList<T> tasks = createTasks(tasksCount);
@@ -4,12 +4,16 @@ import assertions.HttpResponseAssertions;
 import assertions.TaskAssertions;
 import http.tokens.TaskListTypeToken;
 import models.factories.TasksFactory;
+import models.managers.query.TimeSlot;
 import models.tasks.Task;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.net.http.HttpResponse;
 import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class PrioritizedHandlerTest extends HttpTest {
     @Test
@@ -28,6 +32,42 @@ public class PrioritizedHandlerTest extends HttpTest {
         );
     }
 
+    @Test
+    public void shouldGetPrioritizedInWindow() throws IOException, InterruptedException {
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 5));
+        Task taskB = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 10, 15));
+        Task taskC = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 20, 25));
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 30, 35));
+
+        HttpResponse<String> response = doGetRequest(String.format(
+                "/prioritized?from=%s&to=%s",
+                taskB.getStartTime().plusHours(2),
+                taskC.getEndTime()
+        ));
+
+        HttpResponseAssertions.assertOk(response);
+        ArrayList<Task> windowTasks = serializer.fromJson(response.body(), new TaskListTypeToken().getType());
+        TaskAssertions.assertListsEqualByContent(new ArrayList<>(List.of(taskB, taskC)), windowTasks);
+    }
+
+    @Test
+    public void shouldGetFreeSlot() throws IOException, InterruptedException {
+        Task task = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 5));
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 6, 10));
+
+        HttpResponse<String> response = doGetRequest(String.format(
+                "/prioritized/free-slot?from=%s&duration=120",
+                task.getStartTime().plusHours(1)
+        ));
+
+        HttpResponseAssertions.assertOk(response);
+        TimeSlot slot = serializer.fromJson(response.body(), TimeSlot.class);
+        assertEquals(task.getStartTime().plusHours(10), slot.getStartTime());
+        assertEquals(task.getStartTime().plusHours(12), slot.getEndTime());
+
+        HttpResponseAssertions.assertNotAcceptable(doGetRequest("/prioritized/free-slot"));
+    }
+
     public ArrayList<Task> createPrioritized() {
         ArrayList<Task> prioritizedTasks = new ArrayList<>();
 
@@ -1,13 +1,18 @@
 package http.handlers;
 
+import assertions.HttpResponseAssertions;
+import com.google.gson.JsonObject;
 import models.factories.TasksFactory;
 import models.tasks.EpicTask;
 import models.tasks.SubTask;
+import models.tasks.TaskStatus;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
 import java.util.ArrayList;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 /**
  * @see TasksHandler
  */
@@ -32,6 +37,16 @@ public class SubTasksHandlerTest extends HandlerTest<SubTask> {
         testGetTask();
     }
 
+    @Test
+    public void shouldGetTaskWithLongId() throws IOException, InterruptedException {
+        testGetTaskWithLongId();
+    }
+
+    @Test
+    public void shouldNotFoundPath() throws IOException, InterruptedException {
+        testNotFoundPath();
+    }
+
     @Test
     public void shouldNotFoundTask() throws IOException, InterruptedException {
         testNotFoundTask();
@@ -62,6 +77,26 @@ public class SubTasksHandlerTest extends HandlerTest<SubTask> {
         testRejectPostUpdateIntersection();
     }
 
+    /**
+     * Updates without the status keep the stored one, so the Epic keeps its status too
+     */
+    @Test
+    public void shouldKeepStatusOfPostUpdateWithoutStatus() throws IOException, InterruptedException {
+        SubTask subTask = createTask().copy();
+        subTask.setStatus(TaskStatus.DONE);
+        manager.updateTask(subTask);
+
+        subTask.setName(subTask.getName() + " [updated]");
+        JsonObject body = serializer.toJsonTree(subTask).getAsJsonObject();
+        body.remove("status");
+        HttpResponseAssertions.assertCreated(doPostRequest(getBasePath(), body.toString()));
+
+        SubTask updatedSubTask = manager.getSubTask(subTask.getId()).orElseThrow();
+        assertEquals(subTask.getName(), updatedSubTask.getName());
+        assertEquals(TaskStatus.DONE, updatedSubTask.getStatus());
+        assertEquals(TaskStatus.DONE, manager.getEpicTask(subTask.getEpicId()).orElseThrow().getStatus());
+    }
+
     @Override
     protected ArrayList<SubTask> getTasks() {
         return manager.getSubTasks();
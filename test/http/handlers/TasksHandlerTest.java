@@ -1,11 +1,17 @@
 package http.handlers;
 
+import assertions.HttpResponseAssertions;
+import http.tokens.TaskListTypeToken;
 import models.factories.TasksFactory;
 import models.tasks.Task;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
+import java.net.http.HttpResponse;
 import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @see TasksHandler
@@ -26,11 +32,103 @@ public class TasksHandlerTest extends HandlerTest<Task> {
         testGetTask();
     }
 
+    /**
+     * Peeked, updated and deleted Tasks aren't added to the history
+     */
+    @Test
+    public void shouldPeekTask() throws IOException, InterruptedException {
+        Task task = createTask();
+        Task otherTask = createTask();
+
+        HttpResponse<String> response = doGetRequest(getBasePath() + "/" + task.getId() + "?peek");
+        HttpResponseAssertions.assertOk(response);
+        assertEquals(task.getId(), serializer.fromJson(response.body(), Task.class).getId());
+
+        task.setName(task.getName() + " [updated]");
+        HttpResponseAssertions.assertCreated(doPostRequest(getBasePath(), serializer.toJson(task)));
+        HttpResponseAssertions.assertOk(doDeleteRequest(getBasePath() + "/" + otherTask.getId()));
+        assertEquals(List.of(), manager.getHistory());
+
+        HttpResponseAssertions.assertOk(doGetRequest(getBasePath() + "/" + task.getId()));
+        assertEquals(List.of(task.getId()), manager.getHistory().stream().map(Task::getId).toList());
+    }
+
+    @Test
+    public void shouldStreamTasks() throws IOException, InterruptedException {
+        createTasks(3);
+
+        HttpResponse<String> response = doGetRequest(getBasePath());
+
+        HttpResponseAssertions.assertOk(response);
+        assertTrue(response.headers().firstValue("Content-Length").isEmpty()); // Sent by chunks
+        assertFalse(response.body().contains("\n"));
+    }
+
+    @Test
+    public void shouldGetTasksByPages() throws IOException, InterruptedException {
+        ArrayList<Task> tasks = createTasks(5);
+
+        HttpResponse<String> response1 = doGetRequest(getBasePath() + "?limit=3");
+
+        HttpResponseAssertions.assertOk(response1);
+        List<Task> page1 = serializer.fromJson(response1.body(), new TaskListTypeToken().getType());
+        assertEquals(List.of(tasks.get(0).getId(), tasks.get(1).getId(), tasks.get(2).getId()), page1.stream().map(Task::getId).toList());
+        String cursor = response1.headers().firstValue("X-Next-Cursor").orElseThrow();
+
+        HttpResponse<String> response2 = doGetRequest(getBasePath() + "?limit=3&cursor=" + cursor);
+
+        HttpResponseAssertions.assertOk(response2);
+        List<Task> page2 = serializer.fromJson(response2.body(), new TaskListTypeToken().getType());
+        assertEquals(List.of(tasks.get(3).getId(), tasks.get(4).getId()), page2.stream().map(Task::getId).toList());
+        assertTrue(response2.headers().firstValue("X-Next-Cursor").isEmpty());
+
+        HttpResponseAssertions.assertOk(doGetRequest(getBasePath() + "?status=DONE"));
+        HttpResponseAssertions.assertNotAcceptable(doGetRequest(getBasePath() + "?status=UNKNOWN"));
+        HttpResponseAssertions.assertNotAcceptable(doGetRequest(getBasePath() + "?limit=0"));
+        HttpResponseAssertions.assertNotAcceptable(doGetRequest(getBasePath() + "?from=yesterday"));
+    }
+
+    @Test
+    public void shouldPostAutoScheduledTask() throws IOException, InterruptedException {
+        Task task = createTask(100, 120);
+
+        HttpResponse<String> response = doPostRequest(
+                getBasePath() + "?autoSchedule=true",
+                serializer.toJson(makeTask(110, 130))
+        );
+
+        HttpResponseAssertions.assertCreated(response);
+        assertEquals(task.getEndTime(), serializer.fromJson(response.body(), Task.class).getStartTime());
+        assertEquals(2, getTasks().size());
+    }
+
+    @Test
+    public void shouldPrettyPrintByParameter() throws IOException, InterruptedException {
+        createTasks(2);
+
+        HttpResponse<String> response = doGetRequest(getBasePath() + "?pretty=true");
+
+        HttpResponseAssertions.assertOk(response);
+        assertTrue(response.body().contains("\n  {"));
+        List<Task> tasks = serializer.fromJson(response.body(), new TaskListTypeToken().getType());
+        assertEquals(2, tasks.size());
+    }
+
     @Test
     public void shouldGetTask() throws IOException, InterruptedException {
         testGetTask();
     }
 
+    @Test
+    public void shouldGetTaskWithLongId() throws IOException, InterruptedException {
+        testGetTaskWithLongId();
+    }
+
+    @Test
+    public void shouldNotFoundPath() throws IOException, InterruptedException {
+        testNotFoundPath();
+    }
+
     @Test
     public void shouldNotFoundTask() throws IOException, InterruptedException {
         testNotFoundTask();
@@ -61,6 +159,19 @@ public class TasksHandlerTest extends HandlerTest<Task> {
         testRejectPostUpdateIntersection();
     }
 
+    /**
+     * Bodies of other types are rejected instead of being created as Epic or Sub Tasks
+     */
+    @Test
+    public void shouldRejectPostOfOtherType() throws IOException, InterruptedException {
+        String epicBody = "{\"type\":\"EPIC\",\"name\":\"Epic\"}";
+
+        HttpResponseAssertions.assertNotAcceptable(doPostRequest(getBasePath(), epicBody));
+        HttpResponseAssertions.assertNotAcceptable(doPostRequest("subtasks", epicBody));
+        assertTrue(manager.getEpicTasks().isEmpty());
+        assertTrue(getTasks().isEmpty());
+    }
+
     @Override
     protected ArrayList<Task> getTasks() {
         return manager.getTasks();
@@ -0,0 +1,32 @@
+package http.routing;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see QueryParameters
+ */
+public class QueryParametersTest {
+    @Test
+    public void shouldParseQuery() {
+        QueryParameters parameters = new QueryParameters(URI.create("/tasks?pretty&name=a%20b&empty=&name=c"));
+
+        assertEquals(Optional.of("a b"), parameters.get("name")); // The first value wins
+        assertEquals(Optional.of(""), parameters.get("empty"));
+        assertEquals(Optional.empty(), parameters.get("unknown"));
+        assertTrue(parameters.isEnabled("pretty"));
+        assertFalse(parameters.isEnabled("name"));
+        assertFalse(parameters.isEnabled("unknown"));
+    }
+
+    @Test
+    public void shouldParseEmptyQuery() {
+        assertTrue(new QueryParameters(URI.create("/tasks")).get("pretty").isEmpty());
+        assertTrue(new QueryParameters(URI.create("/tasks?")).get("pretty").isEmpty());
+        assertTrue(new QueryParameters(URI.create("/tasks?pretty=1")).isEnabled("pretty"));
+    }
+}
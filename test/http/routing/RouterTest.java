@@ -0,0 +1,66 @@
+package http.routing;
+
+import http.exceptions.MethodNotAllowedException;
+import http.exceptions.NotFoundException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see Router
+ */
+public class RouterTest {
+    private final Route listRoute = (httpExchange, parameters) -> {};
+    private final Route itemRoute = (httpExchange, parameters) -> {};
+    private final Route subTasksRoute = (httpExchange, parameters) -> {};
+    private final Route deleteRoute = (httpExchange, parameters) -> {};
+    private final Router router = new Router()
+            .get("/epics", listRoute)
+            .get("/epics/{id:int}", itemRoute)
+            .get("/epics/{id:int}/subtasks", subTasksRoute)
+            .delete("/epics/{id:int}", deleteRoute);
+
+    /**
+     * @see Router#find(String, String, PathParameters)
+     */
+    @Test
+    public void shouldFindRoutes() {
+        assertSame(listRoute, router.find("GET", "/epics", new PathParameters()));
+        assertSame(listRoute, router.find("GET", "/epics/", new PathParameters()));
+        assertSame(deleteRoute, router.find("DELETE", "/epics/1", new PathParameters()));
+
+        PathParameters parameters = new PathParameters();
+        assertSame(subTasksRoute, router.find("GET", "/epics/1234/subtasks", parameters));
+        assertEquals(1234, parameters.getInt("id")); // Not only single digits
+    }
+
+    @Test
+    public void shouldFindItemWithManyDigits() {
+        PathParameters parameters = new PathParameters();
+
+        assertSame(itemRoute, router.find("GET", "/epics/" + Integer.MAX_VALUE, parameters));
+        assertEquals(Integer.MAX_VALUE, parameters.getInt("id"));
+    }
+
+    @Test
+    public void shouldNotFindUnknownPaths() {
+        assertThrows(NotFoundException.class, () -> router.find("GET", "/tasks", new PathParameters()));
+        assertThrows(NotFoundException.class, () -> router.find("GET", "/epics/abc", new PathParameters()));
+        assertThrows(NotFoundException.class, () -> router.find("GET", "/epics/-1", new PathParameters()));
+        assertThrows(NotFoundException.class, () -> router.find("GET", "/epics/99999999999", new PathParameters()));
+        assertThrows(NotFoundException.class, () -> router.find("GET", "/epics/1/history", new PathParameters()));
+        assertThrows(NotFoundException.class, () -> router.find("GET", "/", new PathParameters()));
+    }
+
+    @Test
+    public void shouldNotAllowUnknownMethods() {
+        assertThrows(MethodNotAllowedException.class, () -> router.find("POST", "/epics/1", new PathParameters()));
+        assertThrows(MethodNotAllowedException.class, () -> router.find("PUT", "/epics", new PathParameters()));
+    }
+
+    @Test
+    public void shouldRejectConflictingRoutes() {
+        assertThrows(IllegalStateException.class, () -> router.get("/epics", listRoute));
+        assertThrows(IllegalStateException.class, () -> router.get("/epics/{name}/tasks", listRoute));
+    }
+}
@@ -0,0 +1,32 @@
+package http.serialization.adapters;
+
+import com.google.gson.Gson;
+import http.serialization.SerializerFactory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see LocalDateTimeAdapter
+ */
+public class LocalDateTimeAdapterTest {
+    private final Gson serializer = SerializerFactory.getSerializer();
+
+    @Test
+    public void shouldWriteFixedFormat() {
+        assertEquals("\"2024-01-01T10:00:00\"", serializer.toJson(LocalDateTime.of(2024, 1, 1, 10, 0)));
+        assertEquals("\"0987-11-30T09:05:07\"", serializer.toJson(LocalDateTime.of(987, 11, 30, 9, 5, 7)));
+        assertEquals("\"-999999999-01-01T00:00:00\"", serializer.toJson(LocalDateTime.MIN));
+    }
+
+    @Test
+    public void shouldReadWrittenTimes() {
+        LocalDateTime[] times = {LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(1, 2, 3, 4, 5, 6), LocalDateTime.MIN};
+
+        for (LocalDateTime time : times) {
+            assertEquals(time, serializer.fromJson(serializer.toJson(time), LocalDateTime.class));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package http.serialization.adapters;
+
+import assertions.TaskAssertions;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import http.serialization.SerializerFactory;
+import http.tokens.TaskListTypeToken;
+import models.factories.TasksFactory;
+import models.tasks.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see TaskAdapterFactory
+ */
+public class TaskAdapterFactoryTest {
+    private final Gson serializer = SerializerFactory.getSerializer();
+
+    @Test
+    public void shouldWriteAndReadTasks() {
+        Task task = TasksFactory.setTimeRange(TasksFactory.makeTask(1), 1, 3);
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        EpicTask epic = new EpicTask(
+                2, "Epic", null,
+                LocalDateTime.of(2024, 5, 1, 10, 0, 30), Duration.ofMinutes(90), LocalDateTime.of(2024, 5, 2, 10, 0)
+        );
+        SubTask sub = TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId(), 3), 5, 6);
+        sub.setStatus(TaskStatus.DONE);
+
+        assertSameTask(task, serializer.fromJson(serializer.toJson(task), Task.class));
+        assertSameTask(epic, serializer.fromJson(serializer.toJson(epic), EpicTask.class));
+        assertSameTask(sub, serializer.fromJson(serializer.toJson(sub), SubTask.class));
+        assertEquals(LocalDateTime.MIN, serializer.fromJson(serializer.toJson(TasksFactory.makeEpic()), EpicTask.class).getEndTime());
+    }
+
+    @Test
+    public void shouldReadListWithTaskTypes() {
+        EpicTask epic = TasksFactory.makeEpic(1);
+        ArrayList<Task> tasks = new ArrayList<>(List.of(TasksFactory.makeTask(2), epic, TasksFactory.makeSub(epic.getId(), 3)));
+
+        ArrayList<Task> readTasks = serializer.fromJson(serializer.toJson(tasks), new TaskListTypeToken().getType());
+
+        assertEquals(Task.class, readTasks.get(0).getClass());
+        assertEquals(EpicTask.class, readTasks.get(1).getClass());
+        assertEquals(SubTask.class, readTasks.get(2).getClass());
+        assertEquals(epic.getId(), ((SubTask) readTasks.get(2)).getEpicId());
+    }
+
+    /**
+     * Tasks written by the former reflective serializer, i.e. without the type, are still read
+     */
+    @Test
+    public void shouldReadReflectiveJson() {
+        SubTask sub = new SubTask(3, 7, "Sub", "Description", LocalDateTime.of(2024, 1, 1, 5, 0), Duration.ofHours(25));
+        sub.setStatus(TaskStatus.IN_PROGRESS);
+        String reflectiveJson = "{\"epicId\":7,\"id\":3,\"name\":\"Sub\",\"description\":\"Description\","
+                + "\"status\":\"IN_PROGRESS\",\"startTime\":\"2024-01-01T05:00\",\"duration\":\"25:0:0\"}";
+
+        SubTask readSub = serializer.fromJson(reflectiveJson, SubTask.class);
+
+        assertSameTask(sub, readSub);
+        assertEquals(sub.getEpicId(), readSub.getEpicId());
+    }
+
+    @Test
+    public void shouldSetDefaultsOfMissingFields() {
+        Task task = serializer.fromJson("{\"name\":\"Task\",\"unknown\":[1,2]}", Task.class);
+
+        assertEquals(0, task.getId());
+        assertEquals("Task", task.getName());
+        assertNull(task.getStatus()); // Updates keep the stored status
+        assertEquals(LocalDateTime.MIN, task.getStartTime());
+        assertEquals(Duration.ZERO, task.getDuration());
+    }
+
+    @Test
+    public void shouldRejectWrongTypes() {
+        assertThrows(JsonParseException.class, () -> serializer.fromJson("{\"type\":\"EPIC\"}", SubTask.class));
+        assertThrows(JsonParseException.class, () -> serializer.fromJson("{\"type\":\"UNKNOWN\"}", Task.class));
+        assertThrows(JsonParseException.class, () -> serializer.fromJson("{\"status\":\"UNKNOWN\"}", Task.class));
+    }
+
+    private void assertSameTask(Task expected, Task actual) {
+        assertEquals(expected.getClass(), actual.getClass());
+        TaskAssertions.assertEqualByContent(expected, actual);
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getStartTime(), actual.getStartTime());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.getEndTime(), actual.getEndTime());
+    }
+}
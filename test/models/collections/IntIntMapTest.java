@@ -0,0 +1,71 @@
+package models.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see IntIntMap
+ */
+public class IntIntMapTest {
+    /**
+     * @see IntIntMap#put(int, int)
+     * @see IntIntMap#remove(int)
+     */
+    @Test
+    public void shouldPutAndRemove() {
+        IntIntMap map = new IntIntMap();
+
+        map.put(1, 10);
+        map.put(30, 20); // The same home slot
+        map.put(0, 30); // The key of empty slots
+        map.put(1, 40);
+        assertEquals(3, map.size());
+        assertEquals(40, map.getOrDefault(1, -1));
+        assertEquals(20, map.getOrDefault(30, -1));
+        assertEquals(30, map.getOrDefault(0, -1));
+        assertEquals(-1, map.getOrDefault(35, -1));
+
+        map.remove(1);
+        assertEquals(20, map.getOrDefault(30, -1)); // Shifted back into the free slot
+        map.remove(0);
+        assertFalse(map.containsKey(0));
+        assertEquals(1, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(30));
+    }
+
+    /**
+     * Compare with HashMap by random changes, including colliding and negative keys
+     */
+    @Test
+    public void shouldWorkAsHashMap() {
+        Random random = new Random(42);
+        IntIntMap map = new IntIntMap();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(2000) : random.nextInt(100) * 1024 - 50_000;
+
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    expected.remove(key);
+                    map.remove(key);
+                }
+                case 1 -> assertEquals(expected.getOrDefault(key, -1), map.getOrDefault(key, -1));
+                default -> {
+                    expected.put(key, i);
+                    map.put(key, i);
+                }
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.getOrDefault(key, -1)));
+    }
+}
@@ -0,0 +1,104 @@
+package models.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see IntMap
+ */
+public class IntMapTest {
+    /**
+     * @see IntMap#put(int, Object)
+     * @see IntMap#remove(int)
+     */
+    @Test
+    public void shouldPutAndRemove() {
+        IntMap<String> map = new IntMap<>();
+
+        assertNull(map.put(1, "A"));
+        assertNull(map.put(30, "B")); // The same home slot
+        assertEquals("A", map.put(1, "C"));
+        assertEquals(2, map.size());
+        assertEquals("C", map.get(1));
+        assertEquals("B", map.get(30));
+        assertNull(map.get(35));
+
+        assertEquals("C", map.remove(1));
+        assertEquals("B", map.get(30)); // Shifted back into the free slot
+        assertNull(map.remove(1));
+        assertEquals(1, map.size());
+        assertFalse(map.containsKey(1));
+        assertEquals("D", map.getOrDefault(1, "D"));
+        assertThrows(NullPointerException.class, () -> map.put(2, null));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(30));
+    }
+
+    /**
+     * Strided keys get different home slots, while their low bits are the same
+     *
+     * @see IntMap#hash(int)
+     */
+    @Test
+    public void shouldSpreadStridedKeys() {
+        HashSet<Integer> homeSlots = new HashSet<>();
+
+        for (int key = 1024; key <= 1024 * 1000; key += 1024) {
+            homeSlots.add(IntMap.hash(key) & 2047);
+        }
+
+        assertTrue(homeSlots.size() > 900);
+    }
+
+    /**
+     * @see IntMap#forEachKey(java.util.function.IntConsumer)
+     * @see IntMap#values()
+     */
+    @Test
+    public void shouldIterateAllKeys() {
+        IntMap<Integer> map = new IntMap<>();
+
+        for (int key = 1; key <= 1000; key++) {
+            map.put(key * 1024, key * 1024);
+        }
+
+        ArrayList<Integer> keys = new ArrayList<>();
+        map.forEachKey(keys::add);
+
+        assertEquals(map.values(), keys);
+        assertEquals(1000, new HashSet<>(keys).size());
+        assertTrue(keys.stream().allMatch(key -> map.get(key).equals(key)));
+    }
+
+    /**
+     * Compare with HashMap by random changes, including colliding and negative keys
+     */
+    @Test
+    public void shouldWorkAsHashMap() {
+        Random random = new Random(42);
+        IntMap<Integer> map = new IntMap<>(4);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 100_000; i++) {
+            int key = random.nextBoolean() ? random.nextInt(2000) : random.nextInt(100) * 1024 - 50_000;
+
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.get(key), map.get(key));
+                default -> assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+
+        HashSet<Integer> values = new HashSet<>();
+        map.forEachValue(values::add);
+        assertEquals(new HashSet<>(expected.values()), values);
+    }
+}
@@ -0,0 +1,71 @@
+package models.collections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see SparseBitSet
+ */
+public class SparseBitSetTest {
+    /**
+     * @see SparseBitSet#add(int)
+     * @see SparseBitSet#remove(int)
+     * @see SparseBitSet#next(int)
+     */
+    @Test
+    public void shouldAddAndRemove() {
+        SparseBitSet set = new SparseBitSet();
+
+        assertTrue(set.add(5));
+        assertFalse(set.add(5));
+        assertTrue(set.add(1_000_000));
+        assertEquals(2, set.size());
+        assertTrue(set.contains(1_000_000));
+        assertFalse(set.contains(6));
+        assertFalse(set.contains(-1));
+        assertEquals(5, set.next(-10));
+        assertEquals(1_000_000, set.next(6)); // Across missing pages
+        assertEquals(-1, set.next(1_000_001));
+
+        assertTrue(set.remove(5));
+        assertFalse(set.remove(5));
+        assertEquals(1_000_000, set.next(0));
+        assertThrows(IllegalArgumentException.class, () -> set.add(-1));
+
+        set.clear();
+        assertTrue(set.isEmpty());
+        assertEquals(-1, set.next(0));
+    }
+
+    /**
+     * Compare with BitSet by random changes
+     */
+    @Test
+    public void shouldWorkAsBitSet() {
+        Random random = new Random(42);
+        SparseBitSet set = new SparseBitSet();
+        BitSet expected = new BitSet();
+
+        for (int i = 0; i < 100_000; i++) {
+            int value = random.nextBoolean() ? random.nextInt(5000) : random.nextInt(100) * 4096 + random.nextInt(64);
+
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    assertEquals(expected.get(value), set.remove(value));
+                    expected.clear(value);
+                }
+                case 1 -> assertEquals(expected.nextSetBit(value), set.next(value));
+                default -> {
+                    assertEquals(!expected.get(value), set.add(value));
+                    expected.set(value);
+                }
+            }
+        }
+
+        assertEquals(expected.cardinality(), set.size());
+    }
+}
@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * @see InMemoryHistoryManager
@@ -53,6 +54,21 @@ class InMemoryHistoryManagerTest {
         );
     }
 
+    /**
+     * @see InMemoryHistoryManager#clear()
+     */
+    @Test
+    public void shouldClear() {
+        InMemoryHistoryManager manager = (InMemoryHistoryManager) Managers.getDefaultHistory();
+        List<Task> tasks = fillHistory(manager);
+        manager.clear();
+
+        assertEquals(List.of(), manager.getHistory());
+
+        manager.add(tasks.get(1));
+        assertEquals(List.of(1), getTaskIds(manager.getHistory()));
+    }
+
     /**
      * - "Убедитесь, что задачи, добавляемые в HistoryManager, сохраняют предыдущую версию задачи и её данных."
      * - "С помощью сеттеров экземпляры задач позволяют изменить любое своё поле,
@@ -85,12 +101,12 @@ class InMemoryHistoryManagerTest {
         epicTask.setName(epicTask.getName() + " [updated]");
         subTask.setName(subTask.getName() + " [updated]");
 
-        // Try to change the history tasks by link
-        ArrayList<Task> history = manager.getHistory();
-        history.getFirst().setName(history.getFirst() + " [updated]");
+        // History tasks are shared snapshots, which can't be changed by link
+        Task historyTask = manager.getHistory().getFirst();
+        assertThrows(UnsupportedOperationException.class, () -> historyTask.setName("[updated]"));
 
         // Check immutability
-        history = manager.getHistory();
+        ArrayList<Task> history = manager.getHistory();
         assertEquals(originalTask.getName(), history.get(0).getName());
         assertEquals(originalEpicTask.getName(), history.get(1).getName());
         assertEquals(originalSubTask.getName(), history.get(2).getName());
@@ -2,6 +2,10 @@ package models.managers;
 
 import assertions.TaskAssertions;
 import models.factories.TasksFactory;
+import models.managers.batch.TaskBatch;
+import models.managers.query.TaskPage;
+import models.managers.query.TaskQuery;
+import models.managers.query.TaskStats;
 import models.tasks.EpicTask;
 import models.tasks.SubTask;
 import models.tasks.Task;
@@ -12,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -47,10 +53,13 @@ public abstract class AbstractTaskManagerTest {
         assertTaskContent(tasks.get(1), 2, taskB.getName());
 
         // Updating
-        Task task = tasks.get(0);
+        Task task = tasks.get(0).copy(); // Got Tasks are shared snapshots
         task.setName(task.getName() + " [updated]");
+        task.setStatus(TaskStatus.IN_PROGRESS);
         manager.updateTask(task);
-        assertTaskContent(tasks.getFirst(), 1, task.getName());
+        assertTaskContent(manager.getTasks().getFirst(), 1, task.getName());
+        assertEquals(TaskStatus.IN_PROGRESS, manager.getTasks().getFirst().getStatus());
+        assertNotEquals(task.getName(), tasks.getFirst().getName()); // The got snapshot isn't changed
 
         // Removing
         manager.removeTask(task.getId());
@@ -197,6 +206,43 @@ public abstract class AbstractTaskManagerTest {
         );
     }
 
+    /**
+     * @see TaskManager#createTask(EpicTask)
+     * @see TaskManager#createTask(SubTask)
+     * @see TaskManager#updateTask(SubTask)
+     * @see TaskManager#removeTask(int)
+     */
+    @Test
+    public void shouldEpicEndTimeDependOnSubs() {
+        // Empty Epic
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        assertEquals(LocalDateTime.MIN, epic.getEndTime());
+
+        // Epic with 2 Subs
+        SubTask subA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 1, 2));
+        SubTask subB = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 5, 8));
+        assertEquals(
+                subB.getEndTime(),
+                manager.getEpicTask(epic.getId()).orElseThrow().getEndTime()
+        );
+
+        // Move the latest Sub before another one
+        TasksFactory.setTimeRange(subB, -3, 0);
+        manager.updateTask(subB);
+        assertEquals(
+                subA.getEndTime(),
+                manager.getEpicTask(epic.getId()).orElseThrow().getEndTime()
+        );
+
+        // Remove all Subs
+        manager.removeTask(subA.getId());
+        manager.removeTask(subB.getId());
+        assertEquals(
+                LocalDateTime.MIN,
+                manager.getEpicTask(epic.getId()).orElseThrow().getEndTime()
+        );
+    }
+
     /**
      * @see TaskManager#removeTask(int)
      */
@@ -213,6 +259,449 @@ public abstract class AbstractTaskManagerTest {
         assertEquals(0, manager.getSubTasks().size());
     }
 
+    /**
+     * @see TaskManager#getEpicSubTasks(int)
+     */
+    @Test
+    public void shouldGetEpicSubTasks() {
+        EpicTask epicA = manager.createTask(TasksFactory.makeEpic());
+        EpicTask epicB = manager.createTask(TasksFactory.makeEpic());
+        SubTask subA1 = manager.createTask(TasksFactory.makeSub(epicA.getId()));
+        SubTask subB1 = manager.createTask(TasksFactory.makeSub(epicB.getId()));
+        SubTask subA2 = manager.createTask(TasksFactory.makeSub(epicA.getId()));
+        assertEquals(
+                List.of(subA1.getId(), subA2.getId()),
+                manager.getEpicSubTasks(epicA.getId()).stream().map(Task::getId).toList()
+        );
+        assertEquals(
+                List.of(subB1.getId()),
+                manager.getEpicSubTasks(epicB.getId()).stream().map(Task::getId).toList()
+        );
+
+        // Updating keeps the Sub in its Epic
+        subA1.setName(subA1.getName() + " [updated]");
+        manager.updateTask(subA1);
+        assertTaskContent(manager.getEpicSubTasks(epicA.getId()).getFirst(), subA1.getId(), subA1.getName());
+
+        // Removing Sub
+        manager.removeTask(subA1.getId());
+        assertEquals(
+                List.of(subA2.getId()),
+                manager.getEpicSubTasks(epicA.getId()).stream().map(Task::getId).toList()
+        );
+
+        // Removing Epic
+        manager.removeTask(epicA.getId());
+        assertTrue(manager.getEpicSubTasks(epicA.getId()).isEmpty());
+        assertEquals(1, manager.getEpicSubTasks(epicB.getId()).size());
+    }
+
+    /**
+     * Visitors pass the same Tasks as list getters
+     *
+     * @see TaskManager#forEachTask
+     * @see TaskManager#forEachEpicSubTask
+     */
+    @Test
+    public void shouldVisitTasks() {
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 20, 30));
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 10));
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 40, 50));
+        manager.createTask(TasksFactory.makeEpic());
+
+        assertEquals(getIds(manager.getTasks()), visitIds(manager::forEachTask));
+        assertEquals(getIds(manager.getPrioritizedTasks()), visitIds(manager::forEachPrioritizedTask));
+        assertEquals(getIds(manager.getEpicTasks()), visitIds(manager::forEachEpicTask));
+        assertEquals(getIds(manager.getSubTasks()), visitIds(manager::forEachSubTask));
+        assertEquals(
+                getIds(manager.getEpicSubTasks(epic.getId())),
+                visitIds(action -> manager.forEachEpicSubTask(epic.getId(), action))
+        );
+        assertEquals(List.of(), visitIds(action -> manager.forEachEpicSubTask(epic.getId() + 100, action)));
+    }
+
+    /**
+     * @see TaskManager#findTasks(TaskQuery)
+     */
+    @Test
+    public void shouldFindTasksByPages() {
+        ArrayList<Integer> ids = new ArrayList<>();
+
+        for (int i = 0; i < 7; i++) {
+            ids.add(manager.createTask(TasksFactory.makeTask()).getId());
+        }
+
+        assertEquals(ids, getIdsByPages(query -> manager.findTasks(query), new TaskQuery(), 3));
+        assertEquals(ids, getIdsByPages(query -> manager.findTasks(query), new TaskQuery(), 7));
+        assertEquals(ids, getIdsByPages(query -> manager.findTasks(query), new TaskQuery(), 100));
+
+        // Filtering
+        Task doneTask = manager.getTask(ids.get(2)).orElseThrow().copy();
+        doneTask.setStatus(TaskStatus.DONE);
+        manager.updateTask(doneTask);
+        manager.removeTask(ids.get(4));
+        manager.createTask(TasksFactory.makeEpic()); // Another table
+        TaskPage<Task> page = manager.findTasks(new TaskQuery().setStatus(TaskStatus.NEW).setLimit(2));
+        assertEquals(List.of(ids.get(0), ids.get(1)), getIds(page.getTasks()));
+        assertEquals(
+                List.of(ids.get(3), ids.get(5)),
+                getIds(manager.findTasks(new TaskQuery().setStatus(TaskStatus.NEW).setLimit(2).setCursor(page.getNextCursor().orElseThrow())).getTasks())
+        );
+        assertEquals(
+                List.of(),
+                getIds(manager.findTasks(new TaskQuery().setStatus(TaskStatus.IN_PROGRESS)).getTasks())
+        );
+    }
+
+    /**
+     * Few Tasks among many other ones are found without walking every ID
+     *
+     * @see TaskManager#findTasks(TaskQuery)
+     */
+    @Test
+    public void shouldFindSparseTasksByPages() {
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        ArrayList<Integer> ids = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            manager.createTask(TasksFactory.makeSub(epic.getId()));
+
+            if (i % 20 == 0) {
+                ids.add(manager.createTask(TasksFactory.makeTask()).getId());
+            }
+        }
+
+        assertEquals(ids, getIdsByPages(query -> manager.findTasks(query), new TaskQuery(), 2));
+        assertEquals(List.of(epic.getId()), getIdsByPages(query -> manager.findEpicTasks(query), new TaskQuery(), 2));
+    }
+
+    /**
+     * @see TaskManager#findSubTasks(TaskQuery)
+     * @see TaskManager#findEpicTasks(TaskQuery)
+     */
+    @Test
+    public void shouldFindSubTasksByEpic() {
+        EpicTask epicA = manager.createTask(TasksFactory.makeEpic());
+        EpicTask epicB = manager.createTask(TasksFactory.makeEpic());
+        ArrayList<Integer> subIdsA = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            subIdsA.add(manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epicA.getId()), i * 10, i * 10 + 5)).getId());
+            manager.createTask(TasksFactory.makeSub(epicB.getId()));
+        }
+
+        assertEquals(subIdsA, getIdsByPages(query -> manager.findSubTasks(query), new TaskQuery().setEpicId(epicA.getId()), 2));
+        assertEquals(5, manager.findSubTasks(new TaskQuery().setEpicId(epicB.getId())).getTasks().size());
+        assertEquals(10, manager.findSubTasks(new TaskQuery()).getTasks().size());
+        assertTrue(manager.findSubTasks(new TaskQuery().setEpicId(epicB.getId() + 100)).getTasks().isEmpty());
+
+        // Time window
+        LocalDateTime start = manager.getSubTask(subIdsA.getFirst()).orElseThrow().getStartTime();
+        assertEquals(
+                List.of(subIdsA.get(1), subIdsA.get(2)),
+                getIds(manager.findSubTasks(new TaskQuery().setFrom(start.plusHours(12)).setTo(start.plusHours(21))).getTasks())
+        );
+        manager.createTask(TasksFactory.makeEpic()); // Not scheduled
+        assertEquals( // Subs of Epic B are generated later
+                List.of(epicA.getId()),
+                getIds(manager.findEpicTasks(new TaskQuery().setFrom(start.minusHours(1)).setTo(start.plusHours(50))).getTasks())
+        );
+        assertEquals(2, manager.findEpicTasks(new TaskQuery().setFrom(start.minusHours(1))).getTasks().size());
+    }
+
+    /**
+     * @see TaskManager#findPrioritizedTasks(TaskQuery)
+     */
+    @Test
+    public void shouldFindPrioritizedTasksByPages() {
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        ArrayList<Integer> ids = new ArrayList<>();
+
+        for (int i = 9; i >= 0; i--) { // Created in reversed order of start
+            Task task = i % 2 == 0
+                    ? manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), i * 10, i * 10 + 5))
+                    : manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), i * 10, i * 10 + 5));
+            ids.addFirst(task.getId());
+        }
+
+        manager.createTask(new Task(0, "Task", null)); // Not scheduled
+
+        assertEquals(ids, getIdsByPages(query -> manager.findPrioritizedTasks(query), new TaskQuery(), 3));
+
+        LocalDateTime start = manager.getPrioritizedTasks().getFirst().getStartTime();
+        assertEquals(
+                List.of(ids.get(2), ids.get(3), ids.get(4)),
+                getIdsByPages(
+                        query -> manager.findPrioritizedTasks(query),
+                        new TaskQuery().setFrom(start.plusHours(22)).setTo(start.plusHours(41)),
+                        2
+                )
+        );
+        assertEquals(
+                List.of(ids.get(1), ids.get(3)),
+                getIds(manager.findPrioritizedTasks(new TaskQuery().setEpicId(epic.getId()).setLimit(2)).getTasks())
+        );
+    }
+
+    /**
+     * The Task is moved in the prioritized list by changing its time
+     */
+    @Test
+    public void shouldReorderPrioritizedTaskByUpdating() {
+        Task taskA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 5));
+        Task taskB = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 10, 15));
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        SubTask sub = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 20, 25));
+
+        manager.updateTask(TasksFactory.setTimeRange(taskA, 30, 35));
+        assertEquals(List.of(taskB.getId(), sub.getId(), taskA.getId()), getIds(manager.getPrioritizedTasks()));
+
+        manager.updateTask(TasksFactory.setTimeRange(sub, 40, 45));
+        assertEquals(List.of(taskB.getId(), taskA.getId(), sub.getId()), getIds(manager.getPrioritizedTasks()));
+
+        manager.removeTask(taskA.getId());
+        manager.removeTask(sub.getId());
+        assertEquals(List.of(taskB.getId()), getIds(manager.getPrioritizedTasks()));
+    }
+
+    /**
+     * @see TaskManager#findFreeSlot(LocalDateTime, Duration)
+     * @see TaskManager#createTask(Task, boolean)
+     * @see TaskManager#createTask(SubTask, boolean)
+     */
+    @Test
+    public void shouldAutoScheduleTasks() {
+        Task taskA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 5));
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 7, 10));
+        LocalDateTime start = taskA.getStartTime();
+
+        assertEquals(start.plusHours(5), manager.findFreeSlot(start, Duration.ofHours(2)).getStartTime());
+        assertEquals(start.plusHours(10), manager.findFreeSlot(start, Duration.ofHours(3)).getStartTime());
+        assertEquals(start.plusHours(13), manager.findFreeSlot(start, Duration.ofHours(3)).getEndTime());
+
+        Task taskC = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 1, 4), true);
+        assertEquals(start.plusHours(10), taskC.getStartTime());
+        assertEquals(Duration.ofHours(3), taskC.getDuration());
+
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        SubTask sub = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 0, 2), true);
+        assertEquals(start.plusHours(5), sub.getStartTime());
+        assertEquals(start.plusHours(5), manager.getEpicTask(epic.getId()).orElseThrow().getStartTime());
+
+        // Without auto scheduling the intersection is rejected
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 1, 4), false)
+        );
+
+        // Not scheduled Tasks stay as is
+        Task taskD = manager.createTask(new Task(0, "Task", null), true);
+        assertEquals(LocalDateTime.MIN, taskD.getStartTime());
+    }
+
+    /**
+     * @see TaskManager#applyBatch(TaskBatch)
+     */
+    @Test
+    public void shouldApplyBatch() {
+        Task taskA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 5));
+        Task taskB = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 5, 10));
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        SubTask subA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 10, 12));
+        Task removedTask = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 20, 22));
+
+        // The Tasks swap their periods, which intersect only with the previous versions of each other
+        subA.setStatus(TaskStatus.DONE);
+        List<Task> results = manager.applyBatch(
+                new TaskBatch()
+                        .update(TasksFactory.setTimeRange(taskA, 5, 10))
+                        .update(TasksFactory.setTimeRange(taskB, 0, 5))
+                        .update(subA)
+                        .remove(removedTask.getId())
+                        .create(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 20, 22))
+        );
+
+        assertEquals(5, results.size());
+        assertEqualsByContent(taskA, results.get(0));
+        assertEquals(removedTask.getId(), results.get(3).getId());
+        SubTask subB = (SubTask) results.get(4);
+        assertEquals(removedTask.getId() + 1, subB.getId());
+        assertEquals(
+                List.of(taskB.getId(), taskA.getId(), subA.getId(), subB.getId()),
+                getTaskIds(manager.getPrioritizedTasks())
+        );
+        EpicTask updatedEpic = manager.getEpicTask(epic.getId()).orElseThrow();
+        assertEquals(TaskStatus.IN_PROGRESS, updatedEpic.getStatus());
+        assertEquals(subB.getEndTime(), updatedEpic.getEndTime());
+
+        // Nothing is applied if any item fails, whatever items are before it
+        List<TaskBatch> failedBatches = List.of(
+                new TaskBatch() // Items intersect with each other
+                        .create(TasksFactory.setTimeRange(TasksFactory.makeTask(), 30, 35))
+                        .create(TasksFactory.setTimeRange(TasksFactory.makeTask(), 34, 40)),
+                new TaskBatch() // The item intersects with the schedule
+                        .create(TasksFactory.setTimeRange(TasksFactory.makeTask(), 30, 35))
+                        .create(TasksFactory.setTimeRange(TasksFactory.makeTask(), 4, 6)),
+                new TaskBatch() // The Sub Task is removed with its Epic
+                        .remove(epic.getId())
+                        .update(subA),
+                new TaskBatch() // The Epic is removed before
+                        .remove(epic.getId())
+                        .create(TasksFactory.makeSub(epic.getId())),
+                new TaskBatch()
+                        .remove(removedTask.getId())
+        );
+
+        for (TaskBatch failedBatch : failedBatches) {
+            assertThrows(IllegalArgumentException.class, () -> manager.applyBatch(failedBatch));
+            assertEquals(2, manager.getTasks().size());
+            assertEquals(2, manager.getSubTasks().size());
+        }
+
+        // Removed Epics free periods of their Sub Tasks
+        manager.applyBatch(
+                new TaskBatch()
+                        .remove(epic.getId())
+                        .create(TasksFactory.setTimeRange(TasksFactory.makeTask(), 10, 22))
+        );
+        assertEquals(3, manager.getPrioritizedTasks().size());
+        assertTrue(manager.getEpicTasks().isEmpty());
+    }
+
+    /**
+     * @see TaskManager#getStats()
+     */
+    @Test
+    public void shouldAggregateStats() {
+        Task taskA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 5));
+        Task unscheduled = new Task(0, "Unscheduled", null);
+        unscheduled.setDuration(Duration.ofHours(1));
+        Task taskB = manager.createTask(unscheduled);
+        EpicTask epicA = manager.createTask(TasksFactory.makeEpic());
+        EpicTask epicB = manager.createTask(TasksFactory.makeEpic());
+        SubTask subA = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epicA.getId()), 5, 7));
+        SubTask subB = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epicA.getId()), 7, 10));
+
+        TaskStats stats = manager.getStats();
+        assertEquals(4, stats.getCount());
+        assertEquals(4, stats.getCount(TaskStatus.NEW));
+        assertEquals(Duration.ofHours(11), stats.getDuration(TaskStatus.NEW));
+        assertEquals(Duration.ZERO, stats.getDuration(TaskStatus.DONE));
+        assertEquals(Duration.ofHours(10), stats.getScheduledDuration());
+        assertEquals(Map.of(epicA.getId(), 2, epicB.getId(), 0), stats.getEpicSubTaskCounts());
+
+        subA.setStatus(TaskStatus.DONE);
+        manager.updateTask(subA);
+        taskB.setStatus(TaskStatus.IN_PROGRESS);
+        manager.updateTask(taskB);
+        manager.removeTask(taskA.getId()); // The last slot is moved into the removed one
+
+        stats = manager.getStats();
+        assertEquals(3, stats.getCount());
+        assertEquals(1, stats.getCount(TaskStatus.NEW));
+        assertEquals(1, stats.getCount(TaskStatus.IN_PROGRESS));
+        assertEquals(1, stats.getCount(TaskStatus.DONE));
+        assertEquals(Duration.ofHours(3), stats.getDuration(TaskStatus.NEW));
+        assertEquals(Duration.ofHours(2), stats.getDuration(TaskStatus.DONE));
+        assertEquals(Duration.ofHours(5), stats.getScheduledDuration());
+
+        manager.removeTask(epicA.getId());
+        stats = manager.getStats();
+        assertEquals(1, stats.getCount());
+        assertEquals(Map.of(epicB.getId(), 0), stats.getEpicSubTaskCounts());
+        assertFalse(stats.getEpicSubTaskCounts().containsKey(subB.getEpicId()));
+    }
+
+    /**
+     * @see TaskManager#getPrioritizedTasks(LocalDateTime, LocalDateTime)
+     */
+    @Test
+    public void shouldGetPrioritizedTasksInWindow() {
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        for (int i = 0; i < 5; i++) {
+            tasks.add(manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), i * 10, i * 10 + 5)));
+        }
+
+        LocalDateTime start = tasks.getFirst().getStartTime();
+        assertEquals(getIds(tasks), getIds(manager.getPrioritizedTasks(null, null)));
+        assertEquals( // The Task lasting at the start of the window is included
+                getIds(tasks.subList(1, 3)),
+                getIds(manager.getPrioritizedTasks(start.plusHours(12), start.plusHours(21)))
+        );
+        assertEquals( // Bounds are exclusive
+                getIds(tasks.subList(2, 3)),
+                getIds(manager.getPrioritizedTasks(start.plusHours(15), start.plusHours(30)))
+        );
+        assertEquals(getIds(tasks.subList(0, 2)), getIds(manager.getPrioritizedTasks(null, start.plusHours(11))));
+        assertEquals(getIds(tasks.subList(3, 5)), getIds(manager.getPrioritizedTasks(start.plusHours(30), null)));
+        assertTrue(manager.getPrioritizedTasks(start.plusHours(6), start.plusHours(9)).isEmpty());
+    }
+
+    /**
+     * Compare with filtering of all prioritized Tasks
+     */
+    @Test
+    public void shouldGetSamePrioritizedTasksInWindowAsFiltering() {
+        Random random = new Random(7);
+        int hour = 0;
+
+        for (int i = 0; i < 100; i++) {
+            hour += random.nextInt(5);
+            int endHour = hour + 1 + random.nextInt(5);
+            manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), hour, endHour));
+            hour = endHour;
+        }
+
+        LocalDateTime zeroTime = manager.getPrioritizedTasks().getFirst().getStartTime();
+
+        for (int i = 0; i < 100; i++) {
+            LocalDateTime from = zeroTime.plusHours(random.nextInt(hour)).plusMinutes(random.nextInt(60));
+            LocalDateTime to = from.plusHours(random.nextInt(20));
+
+            assertEquals(
+                    manager.getPrioritizedTasks()
+                            .stream()
+                            .filter(task -> task.getStartTime().isBefore(to) && task.getEndTime().isAfter(from))
+                            .map(Task::getId)
+                            .toList(),
+                    getIds(manager.getPrioritizedTasks(from, to))
+            );
+        }
+    }
+
+    private <T extends Task> List<Integer> getIdsByPages(
+            Function<TaskQuery, TaskPage<T>> finding,
+            TaskQuery query,
+            int limit
+    ) {
+        ArrayList<Integer> ids = new ArrayList<>();
+        query.setLimit(limit);
+
+        while (true) {
+            TaskPage<T> page = finding.apply(query);
+            assertTrue(page.getTasks().size() <= limit);
+            ids.addAll(getIds(page.getTasks()));
+
+            if (page.getNextCursor().isEmpty()) {
+                return ids;
+            }
+
+            query.setCursor(page.getNextCursor().get());
+        }
+    }
+
+    private List<Integer> getIds(List<? extends Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private List<Integer> visitIds(Consumer<Consumer<Task>> visitor) {
+        ArrayList<Integer> ids = new ArrayList<>();
+        visitor.accept(task -> ids.add(task.getId()));
+        return ids;
+    }
+
     /**
      * "Проверьте, что TaskManager действительно добавляет задачи разного типа и может найти их по id;"
      *
@@ -294,9 +783,10 @@ public abstract class AbstractTaskManagerTest {
         sourceTask.setStatus(TaskStatus.DONE);
         sourceTask.setDescription(sourceTask.getDescription() + " [updated]");
 
-        // Tyr to change the history by link
+        // Got Tasks are shared snapshots, which can't be changed
         ArrayList<Task> tasks = manager.getTasks();
-        tasks.getFirst().setName(tasks.getFirst() + " [updated]");
+        assertThrows(UnsupportedOperationException.class, () -> tasks.getFirst().setName("[updated]"));
+        assertThrows(UnsupportedOperationException.class, () -> manager.getTask(tasks.getFirst().getId()).orElseThrow().setStatus(TaskStatus.DONE));
 
         assertEqualsByContent(
                 originalTask,
@@ -323,6 +813,30 @@ public abstract class AbstractTaskManagerTest {
         );
     }
 
+    /**
+     * Got Tasks are the stored snapshots, which are replaced by new versions on updating
+     *
+     * @see TaskManager#getTasks()
+     * @see TaskManager#getTask(int)
+     */
+    @Test
+    public void shouldShareTaskSnapshots() {
+        Task task = manager.createTask(TasksFactory.makeTask());
+        Task snapshot = manager.getTasks().getFirst();
+
+        assertSame(snapshot, manager.getTask(task.getId()).orElseThrow());
+        assertSame(snapshot, manager.getHistory().getFirst());
+        assertSame(snapshot, manager.getPrioritizedTasks().getFirst());
+
+        task.setName(task.getName() + " [updated]");
+        manager.updateTask(task);
+        Task updated = manager.getTasks().getFirst();
+
+        assertNotSame(snapshot, updated);
+        assertEquals(task.getName(), updated.getName());
+        assertNotEquals(task.getName(), snapshot.getName());
+    }
+
     /**
      * @see TaskManager#createTask(SubTask)
      */
@@ -382,6 +896,71 @@ public abstract class AbstractTaskManagerTest {
 
         manager.removeAllTasks();
         assertTrue(manager.isEmpty());
+        assertTrue(manager.getPrioritizedTasks().isEmpty());
+        assertEquals(0, manager.getStats().getCount());
+    }
+
+    /**
+     * Tasks of other types keep their history, schedule and Epic values
+     *
+     * @see TaskManager#removeTasks()
+     * @see TaskManager#removeSubTasks()
+     * @see TaskManager#removeEpicTasks()
+     */
+    @Test
+    public void shouldRemoveTasksByTypes() {
+        Task task = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 2));
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        SubTask sub = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 2, 4));
+        manager.getTask(task.getId());
+        manager.getEpicTask(epic.getId());
+        manager.getSubTask(sub.getId());
+
+        manager.removeSubTasks();
+        assertEquals(List.of(task.getId(), epic.getId()), getTaskIds(manager.getHistory()));
+        assertEquals(List.of(task.getId()), getTaskIds(manager.getPrioritizedTasks()));
+        assertEquals(Duration.ZERO, manager.getEpicTask(epic.getId()).orElseThrow().getDuration());
+        assertTrue(manager.getEpicSubTasks(epic.getId()).isEmpty());
+
+        sub = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 2, 4));
+        manager.removeTasks();
+        assertEquals(List.of(epic.getId()), getTaskIds(manager.getHistory()));
+        assertEquals(List.of(sub.getId()), getTaskIds(manager.getPrioritizedTasks()));
+        assertEquals(1, manager.getStats().getCount());
+
+        manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 2));
+        manager.removeEpicTasks();
+        assertEquals(List.of(), manager.getHistory());
+        assertEquals(1, manager.getPrioritizedTasks().size());
+        assertTrue(manager.getSubTasks().isEmpty());
+        assertEquals(Map.of(), manager.getStats().getEpicSubTaskCounts());
+    }
+
+    /**
+     * @see TaskManager#peekTask(int)
+     * @see TaskManager#peekEpicTask(int)
+     * @see TaskManager#peekSubTask(int)
+     * @see TaskManager#exists(int)
+     */
+    @Test
+    public void shouldPeekTasksWithoutHistory() {
+        Task task = manager.createTask(TasksFactory.makeTask());
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        SubTask sub = manager.createTask(TasksFactory.makeSub(epic.getId()));
+
+        assertEqualsByContent(task, manager.peekTask(task.getId()).orElseThrow());
+        assertEquals(epic.getName(), manager.peekEpicTask(epic.getId()).orElseThrow().getName());
+        assertEqualsByContent(sub, manager.peekSubTask(sub.getId()).orElseThrow());
+        assertTrue(manager.peekTask(sub.getId()).isEmpty()); // Peeks are typed like getters
+        assertTrue(manager.exists(task.getId()));
+        assertTrue(manager.exists(epic.getId()));
+        assertTrue(manager.exists(sub.getId()));
+        assertFalse(manager.exists(sub.getId() + 1));
+        assertEquals(List.of(), manager.getHistory());
+
+        manager.getTask(task.getId());
+        manager.peekSubTask(sub.getId());
+        assertEquals(List.of(task.getId()), getTaskIds(manager.getHistory()));
     }
 
     @Test
@@ -1,6 +1,8 @@
 package models.managers;
 
+import models.managers.concurrent.ConcurrentTaskManager;
 import models.managers.inmemory.InMemoryTaskManager;
+import models.managers.offheap.OffHeapTaskManager;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,4 +26,28 @@ class ManagersTest {
         assertTrue(manager.getSubTasks().isEmpty());
         assertTrue(manager.getHistory().isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * @see Managers#getConcurrentTaskManager()
+     */
+    @Test
+    public void shouldGetConcurrentManager() {
+        TaskManager manager = new Managers().getConcurrentTaskManager();
+
+        assertInstanceOf(ConcurrentTaskManager.class, manager);
+        assertTrue(manager.isEmpty());
+        assertTrue(manager.getHistory().isEmpty());
+    }
+
+    /**
+     * @see Managers#getOffHeapTaskManager()
+     */
+    @Test
+    public void shouldGetOffHeapManager() {
+        TaskManager manager = new Managers().getOffHeapTaskManager();
+
+        assertInstanceOf(OffHeapTaskManager.class, manager);
+        assertTrue(manager.isEmpty());
+        assertTrue(manager.getHistory().isEmpty());
+    }
+}
@@ -0,0 +1,72 @@
+package models.managers.concurrent;
+
+import models.factories.TasksFactory;
+import models.managers.AbstractTaskManagerTest;
+import models.managers.Managers;
+import models.managers.TaskManager;
+import models.tasks.EpicTask;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @see ConcurrentTaskManager
+ */
+public class ConcurrentTaskManagerTest extends AbstractTaskManagerTest {
+    @Override
+    protected TaskManager makeManager() {
+        return new Managers().getConcurrentTaskManager();
+    }
+
+    /**
+     * @see ConcurrentTaskManager#createTask(Task)
+     * @see ConcurrentTaskManager#getTask(int)
+     */
+    @Test
+    public void shouldManageTasksFromSeveralThreads() throws Exception {
+        int threadsNumber = 8;
+        int tasksNumber = 200; // Per thread
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        ArrayList<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadsNumber)) {
+            for (int i = 0; i < threadsNumber; i++) {
+                int threadIndex = i;
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < tasksNumber; j++) {
+                        int hour = (threadIndex * tasksNumber + j) * 2;
+                        Task task = manager.createTask(TasksFactory.setTimeRange(TasksFactory.makeTask(), hour, hour + 1));
+                        manager.getTask(task.getId());
+                        manager.createTask(
+                                TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), hour + 1, hour + 2)
+                        );
+                        manager.getPrioritizedTasks();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        int totalNumber = threadsNumber * tasksNumber;
+        assertEquals(totalNumber, manager.getTasks().size());
+        assertEquals(totalNumber, manager.getSubTasks().size());
+        assertEquals(totalNumber, manager.getHistory().size());
+        assertEquals(totalNumber * 2, manager.getPrioritizedTasks().size());
+        assertEquals( // IDs are unique
+                totalNumber,
+                manager.getTasks().stream().map(Task::getId).collect(Collectors.toSet()).size()
+        );
+        assertEquals(TaskStatus.NEW, manager.getEpicTask(epic.getId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,98 @@
+package models.managers.filebacked;
+
+import models.factories.TasksFactory;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see BinarySnapshot
+ */
+public class BinarySnapshotTest {
+    /**
+     * @see BinarySnapshot#write
+     * @see BinarySnapshot#read(Path)
+     */
+    @Test
+    public void shouldWriteAndReadTasks() throws IOException {
+        Path filePath = Files.createTempFile("tasks", ".bin");
+
+        try {
+            Task task = TasksFactory.makeTask(1);
+            task.setName("Name, with comma\nand new line");
+            task.setDescription("Описание " + "x".repeat(100_000)); // Longer than the buffer
+            task.setStatus(TaskStatus.DONE);
+            task.setDuration(Duration.ofSeconds(90)); // Durations are kept with seconds
+            EpicTask epicTask = TasksFactory.makeEpic(300);
+            epicTask.setDescription(null);
+            SubTask subTask = TasksFactory.makeSub(epicTask.getId(), 70_000);
+
+            BinarySnapshot.write(filePath, List.of(task), List.of(epicTask), List.of(subTask));
+            List<Task> tasks = BinarySnapshot.read(filePath);
+
+            assertTrue(BinarySnapshot.isBinary(filePath));
+            assertEquals(3, tasks.size());
+            assertEquals(task.getId(), tasks.get(0).getId());
+            assertEquals(task.getName(), tasks.get(0).getName());
+            assertEquals(task.getDescription(), tasks.get(0).getDescription());
+            assertEquals(TaskStatus.DONE, tasks.get(0).getStatus());
+            assertEquals(task.getDuration(), tasks.get(0).getDuration());
+            assertEquals(task.getStartTime().withNano(0), tasks.get(0).getStartTime());
+            assertInstanceOf(EpicTask.class, tasks.get(1));
+            assertNull(tasks.get(1).getDescription());
+            assertEquals(epicTask.getId(), ((SubTask) tasks.get(2)).getEpicId());
+            assertEquals(subTask.getId(), tasks.get(2).getId());
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * @see BinarySnapshot#read(Path)
+     */
+    @Test
+    public void shouldReadManyTasks() throws IOException {
+        Path filePath = Files.createTempFile("tasks", ".bin");
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        for (int id = 1; id <= 10_000; id++) {
+            tasks.add(TasksFactory.makeTask(id));
+        }
+
+        try {
+            BinarySnapshot.write(filePath, tasks, List.of(), List.of());
+            List<Task> readTasks = BinarySnapshot.read(filePath);
+
+            assertEquals(tasks.size(), readTasks.size());
+            assertEquals(tasks.getLast().getName(), readTasks.getLast().getName());
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+
+    /**
+     * @see BinarySnapshot#isBinary(Path)
+     */
+    @Test
+    public void shouldNotDetectCsvAsBinary() throws IOException {
+        Path filePath = Files.createTempFile("tasks", ".csv");
+
+        try {
+            Files.writeString(filePath, "1,REGULAR,Task,NEW,Description,,0,0\n");
+            assertFalse(BinarySnapshot.isBinary(filePath));
+        } finally {
+            Files.deleteIfExists(filePath);
+        }
+    }
+}
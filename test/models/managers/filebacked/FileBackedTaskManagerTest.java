@@ -16,6 +16,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -88,6 +89,65 @@ public class FileBackedTaskManagerTest extends AbstractTaskManagerTest {
         managerA.removeAllTasks();
     }
 
+    /**
+     * Loaded Tasks keep their IDs, so Sub Tasks keep referring to their Epics
+     *
+     * @see FileBackedTaskManager#loadFromFile(File)
+     */
+    @Test
+    public void shouldLoadTasksWithTheirIds() {
+        FileBackedTaskManager managerA = managers.getfileBackedTaskManager();
+
+        Task removedTask = managerA.createTask(TasksFactory.makeTask());
+        EpicTask epicTask = managerA.createTask(TasksFactory.makeEpic());
+        SubTask subTask = managerA.createTask(TasksFactory.makeSub(epicTask.getId()));
+        Task task = managerA.createTask(TasksFactory.makeTask());
+        managerA.removeTask(removedTask.getId());
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName()
+        );
+
+        assertEqualsByContent(task, managerB.getTask(task.getId()).orElseThrow());
+        assertEqualsByContent(subTask, managerB.getSubTask(subTask.getId()).orElseThrow());
+        assertEquals(
+                List.of(subTask.getId()),
+                managerB.getEpicSubTasks(epicTask.getId()).stream().map(Task::getId).toList()
+        );
+        assertEquals(2, managerB.getPrioritizedTasks().size());
+        assertEquals(task.getId() + 1, managerB.createTask(TasksFactory.makeEpic()).getId());
+        assertThrows( // Intersections are checked with loaded Tasks
+                IllegalArgumentException.class,
+                () -> managerB.createTask(task.copy())
+        );
+
+        managerA.removeAllTasks();
+        managerB.removeAllTasks();
+    }
+
+    /**
+     * @see SnapshotFormat#BINARY
+     */
+    @Test
+    public void shouldSaveAndLoadBinaryFile() {
+        FileBackedConfig config = new FileBackedConfig(StorageMode.SNAPSHOT, SnapshotFormat.BINARY, 0);
+        FileBackedTaskManager managerA = managers.getfileBackedTaskManager(config);
+
+        Task task = TasksFactory.makeTask();
+        task.setName("Name, with comma");
+        task = managerA.createTask(task);
+        EpicTask epicTask = managerA.createTask(TasksFactory.makeEpic());
+        SubTask subTask = managerA.createTask(TasksFactory.makeSub(epicTask.getId()));
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(managerA.getFullFileName(), config);
+
+        assertEqualsByContent(task, managerB.getTask(task.getId()).orElseThrow());
+        assertEqualsByContent(subTask, managerB.getSubTask(subTask.getId()).orElseThrow());
+        assertEquals(1, managerB.getEpicSubTasks(epicTask.getId()).size());
+
+        managerA.removeAllTasks();
+    }
+
     @Test
     public void shouldThrowExceptionForInvalidFileContent() throws IOException {
         String filePath = managers
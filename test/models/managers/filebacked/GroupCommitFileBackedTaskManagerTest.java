@@ -0,0 +1,150 @@
+package models.managers.filebacked;
+
+import models.factories.TasksFactory;
+import models.managers.AbstractTaskManagerTest;
+import models.managers.Managers;
+import models.managers.TaskManager;
+import models.managers.concurrent.ConcurrentTaskManager;
+import models.managers.filebacked.exceptions.ManagerSaveException;
+import models.tasks.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see FlushPolicy#groupCommit()
+ * @see Managers#getDurableTaskManager(String)
+ */
+public class GroupCommitFileBackedTaskManagerTest extends AbstractTaskManagerTest {
+    private final Managers managers = new Managers();
+
+    @Override
+    protected TaskManager makeManager() {
+        return managers.getDurableTaskManager();
+    }
+
+    @AfterEach
+    public void clean() {
+        manager.removeAllTasks(); // To delete generated files
+    }
+
+    /**
+     * Every change is saved once the changing method returns, and concurrent changes share writes
+     */
+    @Test
+    public void shouldSaveChangesOfConcurrentWriters() throws Exception {
+        File file = File.createTempFile("tasks", ".csv");
+        FileBackedTaskManager fileBackedManager = FileBackedTaskManager.loadFromFile(
+                file,
+                new FileBackedConfig(StorageMode.JOURNAL, SnapshotFormat.CSV, 1024 * 1024, FlushPolicy.groupCommit())
+        );
+        TaskManager managerA = new ConcurrentTaskManager(fileBackedManager, fileBackedManager::flush);
+        int threadsNumber = 8;
+        int tasksNumber = 50;
+        ArrayList<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threadsNumber)) {
+            for (int i = 0; i < threadsNumber; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < tasksNumber; j++) {
+                        Task task = managerA.createTask(TasksFactory.makeTask());
+
+                        // Loaded from the disk, so the change is already written
+                        assertTrue(
+                                managers.getfileBackedTaskManager(file.getPath(), StorageMode.JOURNAL)
+                                        .getTask(task.getId())
+                                        .isPresent()
+                        );
+                    }
+
+                    return null;
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertEquals(
+                threadsNumber * tasksNumber,
+                managers.getfileBackedTaskManager(file.getPath(), StorageMode.JOURNAL).getTasks().size()
+        );
+        assertTrue(fileBackedManager.getWritesNumber() <= threadsNumber * tasksNumber);
+
+        managerA.removeAllTasks();
+        assertFalse(file.exists());
+    }
+
+    /**
+     * Changes are kept until they're written, so no writer of the failed group commit returns normally
+     */
+    @Test
+    public void shouldKeepChangesOfFailedWrite() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+
+        try (
+                FileBackedTaskManager managerA = FileBackedTaskManager.loadFromFile(
+                        file,
+                        new FileBackedConfig(StorageMode.JOURNAL, SnapshotFormat.CSV, 1024 * 1024, FlushPolicy.groupCommit())
+                )
+        ) {
+            Path journalPath = Path.of(managerA.getJournalFileName());
+            managerA.createTask(TasksFactory.makeTask());
+            managerA.createTask(TasksFactory.makeTask()); // Changes of two writers sharing the commit
+            Files.createDirectory(journalPath); // So the journal can't be opened
+
+            try {
+                assertThrows(ManagerSaveException.class, managerA::flush); // The writer leading the commit
+                assertThrows(ManagerSaveException.class, managerA::flush); // The writer waiting for it
+            } finally {
+                Files.delete(journalPath);
+            }
+
+            managerA.flush();
+            assertEquals(2, managers.getfileBackedTaskManager(file.getPath(), StorageMode.JOURNAL).getTasks().size());
+
+            // Bytes left by a failed append are overwritten by the next one
+            Files.write(journalPath, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+            managerA.createTask(TasksFactory.makeTask());
+            managerA.flush();
+            assertEquals(3, managers.getfileBackedTaskManager(file.getPath(), StorageMode.JOURNAL).getTasks().size());
+
+            managerA.removeAllTasks();
+        }
+    }
+
+    @Test
+    public void shouldNotWriteWithoutFlushing() throws IOException {
+        File file = File.createTempFile("tasks", ".csv");
+        file.delete();
+
+        try (
+                FileBackedTaskManager managerA = FileBackedTaskManager.loadFromFile(
+                        file,
+                        new FileBackedConfig(StorageMode.JOURNAL, SnapshotFormat.CSV, 1024 * 1024, FlushPolicy.groupCommit())
+                )
+        ) {
+            managerA.createTask(TasksFactory.makeTask());
+            assertFalse(new File(managerA.getJournalFileName()).exists());
+
+            managerA.flush();
+            assertEquals(1, managerA.getWritesNumber());
+            assertTrue(new File(managerA.getJournalFileName()).exists());
+
+            managerA.removeAllTasks();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package models.managers.filebacked;
+
+import models.factories.TasksFactory;
+import models.managers.AbstractTaskManagerTest;
+import models.managers.Managers;
+import models.managers.TaskManager;
+import models.managers.batch.TaskBatch;
+import models.managers.filebacked.exceptions.ManagerLoadException;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see FileBackedTaskManager
+ * @see StorageMode#JOURNAL
+ */
+public class JournaledFileBackedTaskManagerTest extends AbstractTaskManagerTest {
+    private final Managers managers = new Managers();
+
+    @Override
+    protected TaskManager makeManager() {
+        return managers.getfileBackedTaskManager(StorageMode.JOURNAL);
+    }
+
+    @AfterEach
+    public void clean() {
+        manager.removeAllTasks(); // To delete generated files
+    }
+
+    /**
+     * @see FileBackedTaskManager#loadFromFile(File, StorageMode)
+     */
+    @Test
+    public void shouldReplayJournal() {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+
+        Task task = managerA.createTask(TasksFactory.makeTask());
+        EpicTask epic = managerA.createTask(TasksFactory.makeEpic());
+        SubTask subA = managerA.createTask(TasksFactory.makeSub(epic.getId()));
+        SubTask subB = managerA.createTask(TasksFactory.makeSub(epic.getId()));
+        subA.setStatus(TaskStatus.DONE);
+        managerA.updateTask(subA);
+        managerA.removeTask(subB.getId());
+
+        assertFalse(Files.exists(Path.of(managerA.getFullFileName()))); // Only the journal is written
+        assertTrue(Files.exists(Path.of(managerA.getJournalFileName())));
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+
+        assertEqualsByContent(task, managerB.getTask(task.getId()).orElseThrow());
+        assertEqualsByContent(subA, managerB.getSubTask(subA.getId()).orElseThrow());
+        assertTrue(managerB.getSubTask(subB.getId()).isEmpty());
+        assertEquals(TaskStatus.DONE, managerB.getEpicTask(epic.getId()).orElseThrow().getStatus());
+
+        // New Tasks don't reuse restored IDs
+        assertEquals(subB.getId() + 1, managerB.createTask(TasksFactory.makeTask()).getId());
+    }
+
+    /**
+     * Journal records are length-prefixed, so names and descriptions may have any characters
+     */
+    @Test
+    public void shouldReplayTasksWithSeparators() {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+
+        Task task = TasksFactory.makeTask();
+        task.setName("Fix login, then deploy");
+        task.setDescription("multi\nline,\r\ndescription");
+        task = managerA.createTask(task);
+        EpicTask epic = TasksFactory.makeEpic();
+        epic.setName(",\n");
+        epic.setDescription(null);
+        epic = managerA.createTask(epic);
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+
+        assertEqualsByContent(task, managerB.getTask(task.getId()).orElseThrow());
+        assertEquals(epic.getName(), managerB.getEpicTask(epic.getId()).orElseThrow().getName());
+        assertNull(managerB.getEpicTask(epic.getId()).orElseThrow().getDescription());
+    }
+
+    /**
+     * The record torn by a crash in the middle of appending is skipped and overwritten
+     */
+    @Test
+    public void shouldSkipTornRecord() throws IOException {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+        Task taskA = managerA.createTask(TasksFactory.makeTask());
+        Task taskB = managerA.createTask(TasksFactory.makeTask());
+        Path journalPath = Path.of(managerA.getJournalFileName());
+
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+        assertEqualsByContent(taskA, managerB.getTask(taskA.getId()).orElseThrow());
+        assertTrue(managerB.getTask(taskB.getId()).isEmpty());
+
+        Task taskC = managerB.createTask(TasksFactory.makeTask()); // Appended right after the complete records
+        FileBackedTaskManager managerC = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+        assertEquals(List.of(taskA.getId(), taskC.getId()), managerC.getTasks().stream().map(Task::getId).toList());
+    }
+
+    /**
+     * Broken records followed by others aren't torn by crashes, so they fail loading
+     */
+    @Test
+    public void shouldRejectCorruptedJournal() throws IOException {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+        managerA.createTask(TasksFactory.makeTask());
+        managerA.createTask(TasksFactory.makeTask());
+        Path journalPath = Path.of(managerA.getJournalFileName());
+        byte[] journal = Files.readAllBytes(journalPath);
+        journal[20] ^= 1; // In the first record
+        Files.write(journalPath, journal);
+
+        assertThrows(
+                ManagerLoadException.class,
+                () -> managers.getfileBackedTaskManager(managerA.getFullFileName(), StorageMode.JOURNAL)
+        );
+    }
+
+    /**
+     * @see FileBackedTaskManager#applyBatch(TaskBatch)
+     */
+    @Test
+    public void shouldWriteBatchAtOnce() {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+        EpicTask epic = managerA.createTask(TasksFactory.makeEpic());
+        Task removedTask = managerA.createTask(TasksFactory.makeTask());
+        long writesNumber = managerA.getWritesNumber();
+
+        TaskBatch batch = new TaskBatch().remove(removedTask.getId());
+
+        for (int i = 0; i < 10; i++) {
+            batch.create(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), i, i + 1));
+        }
+
+        List<Task> results = managerA.applyBatch(batch);
+        SubTask doneSub = ((SubTask) results.getLast()).copy();
+        doneSub.setStatus(TaskStatus.DONE);
+        managerA.applyBatch(new TaskBatch().update(doneSub));
+        assertEquals(writesNumber + 2, managerA.getWritesNumber());
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+
+        assertTrue(managerB.getTask(removedTask.getId()).isEmpty());
+        assertEquals(10, managerB.getEpicSubTasks(epic.getId()).size());
+        assertEquals(TaskStatus.IN_PROGRESS, managerB.getEpicTask(epic.getId()).orElseThrow().getStatus());
+    }
+
+    /**
+     * Bulk removals are saved by one snapshot instead of journal records of every Task
+     *
+     * @see FileBackedTaskManager#removeSubTasks()
+     * @see FileBackedTaskManager#removeAllTasks()
+     */
+    @Test
+    public void shouldWriteBulkRemovalAtOnce() {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+        EpicTask epic = managerA.createTask(TasksFactory.makeEpic());
+        TaskBatch batch = new TaskBatch();
+
+        for (int i = 0; i < 100; i++) {
+            batch.create(TasksFactory.makeSub(epic.getId()));
+        }
+
+        managerA.applyBatch(batch);
+        long writesNumber = managerA.getWritesNumber();
+
+        managerA.removeSubTasks();
+        assertEquals(writesNumber + 1, managerA.getWritesNumber());
+        assertTrue(Files.exists(Path.of(managerA.getFullFileName())));
+        assertFalse(Files.exists(Path.of(managerA.getJournalFileName())));
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+        assertEquals(1, managerB.getEpicTasks().size());
+        assertTrue(managerB.getSubTasks().isEmpty());
+
+        managerA.removeAllTasks();
+        assertEquals(writesNumber + 2, managerA.getWritesNumber());
+        assertFalse(Files.exists(Path.of(managerA.getFullFileName())));
+    }
+
+    /**
+     * @see FileBackedTaskManager#compact()
+     */
+    @Test
+    public void shouldFoldJournalIntoFile() {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+        Task task = managerA.createTask(TasksFactory.makeTask());
+        managerA.compact();
+
+        assertTrue(Files.exists(Path.of(managerA.getFullFileName())));
+        assertFalse(Files.exists(Path.of(managerA.getJournalFileName())));
+
+        task.setName(task.getName() + " [updated]");
+        managerA.updateTask(task);
+        assertTrue(Files.exists(Path.of(managerA.getJournalFileName())));
+
+        FileBackedTaskManager managerB = managers.getfileBackedTaskManager(
+                managerA.getFullFileName(),
+                StorageMode.JOURNAL
+        );
+        assertEquals(1, managerB.getTasks().size());
+        assertEqualsByContent(task, managerB.getTasks().getFirst());
+    }
+
+    /**
+     * Journal is folded into the file as soon as it's longer than the threshold
+     */
+    @Test
+    public void shouldCompactJournalByThreshold() {
+        FileBackedTaskManager managerA = new FileBackedTaskManager(
+                ((FileBackedTaskManager) manager).getFullFileName(),
+                new FileBackedConfig(StorageMode.JOURNAL, SnapshotFormat.CSV, 1)
+        );
+
+        Task task = managerA.createTask(TasksFactory.makeTask());
+
+        assertTrue(Files.exists(Path.of(managerA.getFullFileName())));
+        assertFalse(Files.exists(Path.of(managerA.getJournalFileName())));
+
+        managerA.removeTask(task.getId()); // Files of empty managers are removed
+        assertFalse(Files.exists(Path.of(managerA.getFullFileName())));
+    }
+}
@@ -0,0 +1,129 @@
+package models.managers.filebacked;
+
+import models.factories.TasksFactory;
+import models.managers.AbstractTaskManagerTest;
+import models.managers.Managers;
+import models.managers.TaskManager;
+import models.tasks.Task;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see FileBackedTaskManager
+ * @see FlushPolicy#writeBehind(int, long)
+ */
+public class WriteBehindFileBackedTaskManagerTest extends AbstractTaskManagerTest {
+    private final Managers managers = new Managers();
+
+    @Override
+    protected TaskManager makeManager() {
+        return managers.getfileBackedTaskManager(makeConfig(FlushPolicy.writeBehind(0, 0)));
+    }
+
+    @AfterEach
+    public void clean() {
+        manager.removeAllTasks(); // To delete generated files
+        ((FileBackedTaskManager) manager).close();
+    }
+
+    /**
+     * @see FileBackedTaskManager#flush()
+     */
+    @Test
+    public void shouldWriteChangesByFlushing() {
+        FileBackedTaskManager managerA = (FileBackedTaskManager) manager;
+        Task task = managerA.createTask(TasksFactory.makeTask());
+        managerA.createTask(TasksFactory.makeTask());
+        assertFalse(Files.exists(Path.of(managerA.getJournalFileName())));
+
+        managerA.flush();
+        assertTrue(Files.exists(Path.of(managerA.getJournalFileName())));
+        assertEquals(
+                2,
+                managers.getfileBackedTaskManager(managerA.getFullFileName(), StorageMode.JOURNAL)
+                        .getTasks()
+                        .size()
+        );
+
+        managerA.removeTask(task.getId());
+        managerA.close();
+        assertEquals(
+                1,
+                managers.getfileBackedTaskManager(managerA.getFullFileName(), StorageMode.JOURNAL)
+                        .getTasks()
+                        .size()
+        );
+    }
+
+    @Test
+    public void shouldWriteChangesByOperationsNumber() throws InterruptedException {
+        try (
+                FileBackedTaskManager managerA = managers.getfileBackedTaskManager(
+                        makeConfig(FlushPolicy.writeBehind(3, 0))
+                )
+        ) {
+            managerA.createTask(TasksFactory.makeTask());
+            managerA.createTask(TasksFactory.makeTask());
+            Thread.sleep(100);
+            assertFalse(Files.exists(Path.of(managerA.getJournalFileName())));
+
+            managerA.createTask(TasksFactory.makeTask());
+            assertTrue(waitForFile(managerA.getJournalFileName()));
+
+            managerA.removeAllTasks();
+        }
+    }
+
+    @Test
+    public void shouldWriteChangesByInterval() throws InterruptedException {
+        try (
+                FileBackedTaskManager managerA = managers.getfileBackedTaskManager(
+                        makeConfig(FlushPolicy.writeBehind(0, 20))
+                )
+        ) {
+            managerA.createTask(TasksFactory.makeTask());
+            assertTrue(waitForFile(managerA.getJournalFileName()));
+
+            managerA.removeAllTasks();
+        }
+    }
+
+    /**
+     * Closed managers have no background writer, so their changes are written at once
+     *
+     * @see FileBackedTaskManager#close()
+     */
+    @Test
+    public void shouldWriteChangesAfterClosing() {
+        FileBackedTaskManager managerA = managers.getfileBackedTaskManager(makeConfig(FlushPolicy.writeBehind(1, 20)));
+        managerA.close();
+
+        managerA.createTask(TasksFactory.makeTask());
+        assertEquals(
+                1,
+                managers.getfileBackedTaskManager(managerA.getFullFileName(), StorageMode.JOURNAL)
+                        .getTasks()
+                        .size()
+        );
+
+        managerA.removeAllTasks();
+        assertFalse(Files.exists(Path.of(managerA.getFullFileName())));
+    }
+
+    private FileBackedConfig makeConfig(FlushPolicy flushPolicy) {
+        return new FileBackedConfig(StorageMode.JOURNAL, SnapshotFormat.CSV, 1024 * 1024, flushPolicy);
+    }
+
+    private boolean waitForFile(String fileName) throws InterruptedException {
+        for (int i = 0; i < 100 && !Files.exists(Path.of(fileName)); i++) {
+            Thread.sleep(20);
+        }
+
+        return Files.exists(Path.of(fileName));
+    }
+}
@@ -1,8 +1,23 @@
 package models.managers.inmemory;
 
+import models.factories.TasksFactory;
 import models.managers.AbstractTaskManagerTest;
 import models.managers.Managers;
 import models.managers.TaskManager;
+import models.managers.query.TaskQuery;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @see InMemoryTaskManager
@@ -12,4 +27,78 @@ public class InMemoryTaskManagerTest extends AbstractTaskManagerTest {
     protected TaskManager makeManager() {
         return new Managers().getDefault();
     }
-}
\ No newline at end of file
+
+    /**
+     * Imported Tasks aren't checked for intersections, so many of them may start at once
+     */
+    @Test
+    public void shouldKeepPrioritizedTasksStartingAtOnce() {
+        InMemoryTaskManager managerA = new InMemoryTaskManager();
+        EpicTask epic = TasksFactory.makeEpic(1);
+        List<Task> importedTasks = IntStream.rangeClosed(2, 1001)
+                .mapToObj(id -> id % 2 == 0
+                        ? TasksFactory.setTimeRange(TasksFactory.makeTask(id), 10, 20)
+                        : TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId(), id), 10, 20))
+                .toList();
+        managerA.restoreTasks(Stream.concat(Stream.of(epic), importedTasks.stream().map(Task::copy)));
+
+        assertEquals(
+                importedTasks.stream().map(Task::getId).toList(),
+                managerA.getPrioritizedTasks().stream().map(Task::getId).toList() // Ordered by IDs
+        );
+
+        // Every removed Task is exactly the removed one
+        for (int id = 2; id <= 1001; id += 3) {
+            managerA.removeTask(id);
+        }
+
+        assertEquals(
+                importedTasks.stream().map(Task::getId).filter(id -> (id - 2) % 3 != 0).toList(),
+                managerA.getPrioritizedTasks().stream().map(Task::getId).toList()
+        );
+
+        // Restoring one by one moves the existed Task and returns the removed one
+        managerA.restoreTask(TasksFactory.setTimeRange(TasksFactory.makeTask(4), 30, 40));
+        managerA.restoreTask(TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId(), 5), 30, 40));
+        List<Task> prioritizedTasks = managerA.getPrioritizedTasks();
+        assertEquals(
+                List.of(4, 5),
+                prioritizedTasks.subList(prioritizedTasks.size() - 2, prioritizedTasks.size())
+                        .stream()
+                        .map(Task::getId)
+                        .toList()
+        );
+        assertEquals(importedTasks.size() - 333, prioritizedTasks.size());
+        assertInstanceOf(SubTask.class, prioritizedTasks.getLast());
+        assertEquals(prioritizedTasks.size(), managerA.getStats().getCount()); // Columns follow restored Tasks too
+        assertEquals(Duration.ofHours(10L * prioritizedTasks.size()), managerA.getStats().getScheduledDuration());
+    }
+
+    /**
+     * Restored Tasks may start at once, so the window starting inside the longer one still gets it
+     *
+     * @see InMemoryTaskManager#getPrioritizedTasks(LocalDateTime, LocalDateTime)
+     * @see InMemoryTaskManager#findPrioritizedTasks(TaskQuery)
+     */
+    @Test
+    public void shouldFindIntersectedPrioritizedTasksInWindow() {
+        InMemoryTaskManager managerA = new InMemoryTaskManager();
+        Task taskA = TasksFactory.setTimeRange(TasksFactory.makeTask(1), 0, 10);
+        Task taskB = TasksFactory.setTimeRange(TasksFactory.makeTask(2), 0, 1);
+        managerA.restoreTasks(Stream.of(taskA, taskB));
+
+        LocalDateTime zeroTime = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+        LocalDateTime from = zeroTime.plusHours(5);
+        LocalDateTime to = zeroTime.plusHours(6);
+
+        assertEquals(List.of(taskA.getId()), managerA.getPrioritizedTasks(from, to).stream().map(Task::getId).toList());
+        assertEquals(
+                List.of(taskA.getId()),
+                managerA.findPrioritizedTasks(new TaskQuery().setFrom(from).setTo(to))
+                        .getTasks()
+                        .stream()
+                        .map(Task::getId)
+                        .toList()
+        );
+    }
+}
@@ -0,0 +1,223 @@
+package models.managers.inmemory;
+
+import models.factories.TasksFactory;
+import models.tasks.Task;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see IntervalIndex
+ */
+public class IntervalIndexTest {
+    /**
+     * @see IntervalIndex#findIntersection(Task)
+     */
+    @Test
+    public void shouldFindIntersection() {
+        IntervalIndex index = new IntervalIndex();
+        Task taskA = TasksFactory.setTimeRange(TasksFactory.makeTask(1), 1, 5);
+        Task taskB = TasksFactory.setTimeRange(TasksFactory.makeTask(2), 10, 20);
+        index.put(taskA);
+        index.put(taskB);
+
+        assertEquals(taskA.getId(), index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 2)).orElseThrow());
+        assertEquals(taskB.getId(), index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 12, 13)).orElseThrow());
+        assertEquals(taskA.getId(), index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 30)).orElseThrow());
+        assertEquals(taskB.getId(), index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 10, 10)).orElseThrow());
+        assertTrue(index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 5, 10)).isEmpty());
+        assertTrue(index.findIntersection(taskA).isEmpty()); // The Task doesn't intersect with itself
+
+        index.remove(taskA.getId());
+        assertTrue(index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 2)).isEmpty());
+
+        TasksFactory.setTimeRange(taskB, 30, 40);
+        index.put(taskB);
+        assertTrue(index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 12, 13)).isEmpty());
+        assertEquals(taskB.getId(), index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 35, 50)).orElseThrow());
+    }
+
+    /**
+     * Compare with checking of every indexed Task
+     */
+    @Test
+    public void shouldFindSameIntersectionsAsFullScan() {
+        Random random = new Random(42);
+        IntervalIndex index = new IntervalIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        for (int id = 1; id <= 500; id++) {
+            int start = random.nextInt(1000);
+            Task task = TasksFactory.setTimeRange(TasksFactory.makeTask(id), start, start + 1 + random.nextInt(50));
+            tasks.add(task);
+            index.put(task);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            index.remove(tasks.remove(random.nextInt(tasks.size())).getId());
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(1100);
+            Task task = TasksFactory.setTimeRange(TasksFactory.makeTask(), start, start + random.nextInt(20));
+            boolean hasIntersection = tasks.stream()
+                    .anyMatch(
+                            existed -> existed.getStartTime().isEqual(task.getStartTime())
+                                    || (existed.getStartTime().isBefore(task.getEndTime())
+                                    && task.getStartTime().isBefore(existed.getEndTime()))
+                    );
+
+            assertEquals(hasIntersection, index.findIntersection(task).isPresent());
+        }
+    }
+
+    /**
+     * @see IntervalIndex#build(List)
+     */
+    @Test
+    public void shouldBuildFromSortedTasks() {
+        IntervalIndex index = new IntervalIndex();
+        List<Task> tasks = IntStream.range(0, 100)
+                .mapToObj(i -> TasksFactory.setTimeRange(TasksFactory.makeTask(i + 1), i * 10, i * 10 + 5))
+                .toList();
+        index.build(tasks);
+
+        assertEquals(tasks.get(42).getId(), index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 424, 426)).orElseThrow());
+        assertTrue(index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 425, 430)).isEmpty());
+
+        // Built index is still updatable
+        index.remove(tasks.get(42).getId());
+        assertTrue(index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 424, 426)).isEmpty());
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(1000), 426, 428));
+        assertTrue(index.findIntersection(TasksFactory.setTimeRange(TasksFactory.makeTask(), 427, 429)).isPresent());
+    }
+
+    /**
+     * @see IntervalIndex#forEach(IntervalIndex.Visitor)
+     * @see IntervalIndex#forEachAfter(long, int, IntervalIndex.Visitor)
+     * @see IntervalIndex#forEachLastingAt(long, IntervalIndex.Visitor)
+     */
+    @Test
+    public void shouldVisitTasksInOrder() {
+        IntervalIndex index = new IntervalIndex();
+        Task taskA = TasksFactory.setTimeRange(TasksFactory.makeTask(3), 10, 20);
+        Task taskB = TasksFactory.setTimeRange(TasksFactory.makeTask(1), 30, 40);
+        Task taskC = TasksFactory.setTimeRange(TasksFactory.makeTask(2), 30, 35);
+        Stream.of(taskB, taskA, taskC).forEach(index::put);
+
+        assertEquals(List.of(3, 1, 2), visit(visitor -> index.forEach(visitor)));
+        assertEquals(List.of(2), visit(visitor -> index.forEachAfter(taskB.getStartEpochSecond(), taskB.getId(), visitor)));
+        assertEquals(List.of(1, 2), visit(visitor -> index.forEachAfter(taskA.getStartEpochSecond(), taskA.getId(), visitor)));
+
+        long hour = 3600;
+        assertEquals(List.of(3, 1, 2), visit(visitor -> index.forEachLastingAt(taskA.getStartEpochSecond() + hour, visitor)));
+        assertEquals(List.of(1, 2), visit(visitor -> index.forEachLastingAt(taskA.getEndEpochSecond(), visitor)));
+        assertEquals(List.of(), visit(visitor -> index.forEachLastingAt(taskB.getEndEpochSecond(), visitor)));
+
+        // Stopping
+        ArrayList<Integer> ids = new ArrayList<>();
+        index.forEach(taskId -> ids.add(taskId) && ids.size() < 2);
+        assertEquals(List.of(3, 1), ids);
+    }
+
+    /**
+     * Restored Tasks may intersect, so long Tasks starting before later ones are visited too
+     *
+     * @see IntervalIndex#forEachLastingAt(long, IntervalIndex.Visitor)
+     */
+    @Test
+    public void shouldVisitIntersectedTasksLastingAtTime() {
+        IntervalIndex index = new IntervalIndex();
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(1), 0, 10));
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(2), 0, 1));
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(3), 2, 3));
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(4), 4, 8));
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(5), 12, 13));
+
+        long hour = 3600;
+        assertEquals(List.of(1, 4, 5), visit(visitor -> index.forEachLastingAt(5 * hour, visitor)));
+        assertEquals(List.of(1, 3, 4, 5), visit(visitor -> index.forEachLastingAt(2 * hour, visitor)));
+        assertEquals(List.of(5), visit(visitor -> index.forEachLastingAt(10 * hour, visitor)));
+    }
+
+    private List<Integer> visit(Consumer<IntervalIndex.Visitor> visiting) {
+        ArrayList<Integer> ids = new ArrayList<>();
+        visiting.accept(ids::add);
+
+        return ids;
+    }
+
+    /**
+     * @see IntervalIndex#findFreeSlot(LocalDateTime, Duration)
+     */
+    @Test
+    public void shouldFindFreeSlot() {
+        IntervalIndex index = new IntervalIndex();
+        Task taskA = TasksFactory.setTimeRange(TasksFactory.makeTask(1), 10, 20);
+        index.put(taskA);
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(2), 22, 30));
+        index.put(TasksFactory.setTimeRange(TasksFactory.makeTask(3), 35, 40));
+        LocalDateTime zeroTime = taskA.getStartTime().minusHours(10);
+
+        assertEquals(zeroTime, index.findFreeSlot(zeroTime, Duration.ofHours(10))); // Right before the Task
+        assertEquals(zeroTime.plusHours(40), index.findFreeSlot(zeroTime.plusHours(5), Duration.ofHours(6)));
+        assertEquals(zeroTime.plusHours(5), index.findFreeSlot(zeroTime.plusHours(5), Duration.ofHours(5)));
+        assertEquals(zeroTime.plusHours(20), index.findFreeSlot(zeroTime.plusHours(12), Duration.ofHours(2)));
+        assertEquals(zeroTime.plusHours(30), index.findFreeSlot(zeroTime.plusHours(12), Duration.ofHours(3)));
+        assertEquals(zeroTime.plusHours(40), index.findFreeSlot(zeroTime.plusHours(12), Duration.ofHours(6)));
+        assertEquals(zeroTime.plusHours(50), index.findFreeSlot(zeroTime.plusHours(50), Duration.ofHours(6)));
+        assertThrows(IllegalArgumentException.class, () -> index.findFreeSlot(zeroTime, Duration.ZERO));
+        assertEquals(zeroTime, new IntervalIndex().findFreeSlot(zeroTime, Duration.ofHours(1)));
+    }
+
+    /**
+     * Compare with checking of every gap, including Tasks overlapping each other
+     */
+    @Test
+    public void shouldFindSameFreeSlotsAsFullScan() {
+        Random random = new Random(42);
+        IntervalIndex index = new IntervalIndex();
+        ArrayList<Task> tasks = new ArrayList<>();
+
+        for (int id = 1; id <= 300; id++) {
+            int start = random.nextInt(3000);
+            Task task = TasksFactory.setTimeRange(TasksFactory.makeTask(id), start, start + 1 + random.nextInt(id % 10 == 0 ? 60 : 8));
+            tasks.add(task);
+            index.put(task);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            index.remove(tasks.remove(random.nextInt(tasks.size())).getId());
+        }
+
+        LocalDateTime zeroTime = TasksFactory.setTimeRange(TasksFactory.makeTask(), 0, 1).getStartTime();
+
+        for (int i = 0; i < 1000; i++) {
+            LocalDateTime notBefore = zeroTime.plusHours(random.nextInt(3100)).plusMinutes(random.nextInt(60));
+            Duration duration = Duration.ofMinutes(1 + random.nextInt(20 * 60));
+
+            assertEquals(findFreeSlotByScan(tasks, notBefore, duration), index.findFreeSlot(notBefore, duration));
+        }
+    }
+
+    private LocalDateTime findFreeSlotByScan(List<Task> tasks, LocalDateTime notBefore, Duration duration) {
+        return Stream.concat(Stream.of(notBefore), tasks.stream().map(Task::getEndTime))
+                .filter(start -> !start.isBefore(notBefore))
+                .sorted()
+                .filter(start -> tasks.stream().noneMatch(
+                        task -> task.getStartTime().isEqual(start)
+                                || (task.getStartTime().isBefore(start.plus(duration)) && start.isBefore(task.getEndTime()))
+                ))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,67 @@
+package models.managers.offheap;
+
+import models.factories.TasksFactory;
+import models.managers.AbstractTaskManagerTest;
+import models.managers.Managers;
+import models.managers.TaskManager;
+import models.tasks.EpicTask;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import models.tasks.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see OffHeapTaskManager
+ */
+public class OffHeapTaskManagerTest extends AbstractTaskManagerTest {
+    @Override
+    protected TaskManager makeManager() {
+        return new Managers().getOffHeapTaskManager();
+    }
+
+    /**
+     * Tasks are made from records on every getting, so they're equal snapshots instead of the same ones
+     */
+    @Override
+    @Test
+    public void shouldShareTaskSnapshots() {
+        Task task = manager.createTask(TasksFactory.makeTask());
+        Task snapshot = manager.getTasks().getFirst();
+
+        assertTrue(snapshot.isFrozen());
+        assertNotSame(snapshot, manager.getTask(task.getId()).orElseThrow());
+        assertTaskContent(snapshot, task.getId(), task.getName());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.setName("[updated]"));
+    }
+
+    /**
+     * Every field is written into the record and read back
+     */
+    @Test
+    public void shouldKeepAllFields() {
+        EpicTask epic = manager.createTask(TasksFactory.makeEpic());
+        SubTask sub = TasksFactory.setTimeRange(TasksFactory.makeSub(epic.getId()), 3, 5);
+        sub.setName("Под задача ✓"); // Not ASCII
+        sub.setDescription(null);
+        sub = manager.createTask(sub);
+        sub.setStatus(TaskStatus.IN_PROGRESS);
+        manager.updateTask(sub);
+
+        SubTask storedSub = manager.getSubTask(sub.getId()).orElseThrow();
+        assertEquals(epic.getId(), storedSub.getEpicId());
+        assertEquals("Под задача ✓", storedSub.getName());
+        assertNull(storedSub.getDescription());
+        assertEquals(TaskStatus.IN_PROGRESS, storedSub.getStatus());
+        assertEquals(sub.getStartTime(), storedSub.getStartTime());
+        assertEquals(sub.getDuration(), storedSub.getDuration());
+
+        EpicTask storedEpic = manager.getEpicTask(epic.getId()).orElseThrow();
+        assertEquals(epic.getName(), storedEpic.getName());
+        assertEquals(TaskStatus.IN_PROGRESS, storedEpic.getStatus());
+        assertEquals(sub.getStartTime(), storedEpic.getStartTime());
+        assertEquals(sub.getEndTime(), storedEpic.getEndTime());
+        assertTrue(manager.getTask(sub.getId()).isEmpty()); // Another type of the same record
+    }
+}
@@ -0,0 +1,145 @@
+package models.managers.offheap;
+
+import models.factories.TasksFactory;
+import models.managers.inmemory.TaskTable;
+import models.tasks.SubTask;
+import models.tasks.Task;
+import models.tasks.TaskType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @see OffHeapTaskStore
+ */
+public class OffHeapTaskStoreTest {
+    /**
+     * IDs are visited in order, including IDs of several slabs
+     */
+    @Test
+    public void shouldPutAndRemoveTasks() {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        TaskTable<Task> tasks = store.getTable(TaskType.REGULAR, Task.class);
+        TaskTable<SubTask> subTasks = store.getTable(TaskType.SUB, SubTask.class);
+
+        assertNull(tasks.put(TasksFactory.makeTask(100_000).freeze()));
+        assertNull(tasks.put(TasksFactory.makeTask(1).freeze()));
+        assertNull(subTasks.put(TasksFactory.makeSub(1, 2).freeze()));
+        assertEquals(2, tasks.size());
+        assertEquals(1, subTasks.size());
+
+        ArrayList<Integer> ids = new ArrayList<>();
+        tasks.forEachId(ids::add);
+        assertEquals(List.of(1, 100_000), ids);
+        assertEquals(List.of(2), subTasks.values().stream().map(Task::getId).toList());
+
+        ArrayList<Integer> pageIds = new ArrayList<>();
+        tasks.forEachIdAfter(0, id -> !pageIds.add(id)); // Stopped by the first ID
+        tasks.forEachIdAfter(1, pageIds::add);
+        assertEquals(List.of(1, 100_000), pageIds);
+
+        assertEquals(1, tasks.remove(1).getId());
+        assertNull(tasks.remove(1));
+        assertNull(tasks.get(1));
+        assertNull(tasks.get(2)); // That's a Sub
+        assertNull(tasks.get(5_000_000)); // There is no slab
+        assertEquals(1, tasks.size());
+
+        assertThrows(IllegalArgumentException.class, () -> tasks.put(TasksFactory.makeTask(2).freeze()));
+        assertThrows(IllegalArgumentException.class, () -> tasks.put(TasksFactory.makeTask(0).freeze()));
+    }
+
+    /**
+     * Records of other types are kept, the whole store is dropped once nothing is left
+     *
+     * @see TaskTable#clear()
+     */
+    @Test
+    public void shouldClearTables() {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        TaskTable<Task> tasks = store.getTable(TaskType.REGULAR, Task.class);
+        TaskTable<SubTask> subTasks = store.getTable(TaskType.SUB, SubTask.class);
+        tasks.put(TasksFactory.makeTask(1).freeze());
+        tasks.put(TasksFactory.makeTask(20_000).freeze());
+        SubTask subTask = TasksFactory.makeSub(1, 2).freeze();
+        subTasks.put(subTask);
+
+        tasks.clear();
+        assertTrue(tasks.isEmpty());
+        assertNull(tasks.get(20_000));
+        assertEquals(subTask.getName(), subTasks.get(2).getName());
+        assertTrue(store.getStringGarbageBytes() > 0); // Strings of cleared records are freed
+
+        subTasks.clear();
+        assertTrue(subTasks.isEmpty());
+        assertEquals(0, store.getStringLiveBytes());
+        assertEquals(0, store.getStringGarbageBytes());
+        assertNull(tasks.put(TasksFactory.makeTask(1).freeze())); // The store is usable after dropping
+    }
+
+    /**
+     * Slots follow the number of Tasks rather than their IDs, free slots are reused and released by compaction
+     */
+    @Test
+    public void shouldPackRecordsIntoSlots() {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        TaskTable<Task> tasks = store.getTable(TaskType.REGULAR, Task.class);
+        TaskTable<SubTask> subTasks = store.getTable(TaskType.SUB, SubTask.class);
+
+        tasks.put(TasksFactory.makeTask(100_000_000).freeze());
+        assertEquals(1, store.getUsedSlots());
+        tasks.remove(100_000_000);
+        tasks.put(TasksFactory.makeTask(7).freeze()); // The free slot is reused
+        assertEquals(1, store.getUsedSlots());
+
+        for (int id = 10; id < 50_000; id++) {
+            subTasks.put(TasksFactory.makeSub(7, id).freeze());
+        }
+
+        for (int id = 10; id < 50_000; id++) {
+            if (id % 100 != 0) {
+                subTasks.remove(id);
+            }
+        }
+
+        assertTrue(store.getUsedSlots() <= 1 << 14); // Live records were moved into one slab
+        assertEquals(499, subTasks.size());
+        assertEquals(7, tasks.get(7).getId());
+        assertEquals(49_900, subTasks.get(49_900).getId());
+        assertNull(subTasks.get(49_901));
+
+        ArrayList<Integer> ids = new ArrayList<>();
+        subTasks.forEachId(ids::add);
+        assertEquals(100, ids.getFirst());
+        assertEquals(49_900, ids.getLast());
+        assertEquals(499, ids.size());
+    }
+
+    /**
+     * Replaced strings are garbage until live strings are moved into a new arena
+     */
+    @Test
+    public void shouldCompactStrings() {
+        OffHeapTaskStore store = new OffHeapTaskStore();
+        TaskTable<Task> tasks = store.getTable(TaskType.REGULAR, Task.class);
+        String longName = "N".repeat(3 << 20); // Longer than a slab of the arena
+        Task task = TasksFactory.makeTask(1);
+        task.setName(longName);
+        Task otherTask = TasksFactory.makeTask(2).freeze();
+        tasks.put(task.snapshot());
+        tasks.put(otherTask);
+
+        for (int i = 0; i < 5000; i++) {
+            task.setDescription("Description " + "D".repeat(1000) + i);
+            tasks.put(task.snapshot());
+        }
+
+        assertTrue(store.getStringGarbageBytes() <= store.getStringLiveBytes());
+        assertEquals(longName, tasks.get(1).getName());
+        assertEquals(task.getDescription(), tasks.get(1).getDescription());
+        assertEquals(otherTask.getName(), tasks.get(2).getName());
+    }
+}
@@ -4,6 +4,10 @@ import models.factories.TasksFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
 /**
  * @see Task
  */
@@ -48,4 +52,75 @@ class TaskTest {
                 task.getEndTime()
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * @see Task#freeze()
+     * @see Task#snapshot()
+     */
+    @Test
+    public void shouldShareFrozenSnapshot() {
+        Task task = TasksFactory.makeTask(1);
+        Task snapshot = task.snapshot();
+
+        Assertions.assertNotSame(task, snapshot); // A changeable Task is copied
+        Assertions.assertSame(snapshot, snapshot.snapshot());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.setName("[updated]"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> snapshot.setStatus(TaskStatus.DONE));
+
+        task.setName(task.getName() + " [updated]");
+        Assertions.assertNotEquals(task.getName(), snapshot.getName());
+        Assertions.assertFalse(snapshot.copy().isFrozen());
+    }
+
+    /**
+     * @see Task#update(Task)
+     * @see SubTask#update(SubTask)
+     */
+    @Test
+    public void shouldUpdateByNewVersion() {
+        Task task = TasksFactory.makeTask(1).freeze();
+        Task attributes = TasksFactory.setTimeRange(TasksFactory.makeTask(1), 5, 6);
+        attributes.setStatus(TaskStatus.DONE);
+        Task updated = task.update(attributes);
+
+        Assertions.assertNotSame(task, updated);
+        Assertions.assertTrue(updated.isFrozen());
+        Assertions.assertEquals(TaskStatus.NEW, task.getStatus());
+        Assertions.assertEquals(TaskStatus.DONE, updated.getStatus());
+        Assertions.assertEquals(attributes.getStartTime(), updated.getStartTime());
+        Assertions.assertEquals(attributes.getName(), updated.getName());
+
+        SubTask subTask = TasksFactory.makeSub(1, 2).freeze();
+        SubTask updatedSub = subTask.update(TasksFactory.makeSub(1, 2));
+        Assertions.assertEquals(subTask.getEpicId(), updatedSub.getEpicId());
+        Assertions.assertTrue(updatedSub.isFrozen());
+    }
+
+    /**
+     * Times are kept as epoch seconds, which are converted by getters
+     *
+     * @see Task#getStartEpochSecond()
+     * @see Task#getEndEpochSecond()
+     */
+    @Test
+    public void shouldKeepTimesAsEpochSeconds() {
+        LocalDateTime startTime = LocalDateTime.of(2024, 3, 1, 10, 30, 15, 999_999);
+        Task task = new Task(1, "Task", null, startTime, Duration.ofMinutes(90).plusNanos(1));
+
+        Assertions.assertEquals(startTime.withNano(0), task.getStartTime()); // Truncated to seconds
+        Assertions.assertEquals(Duration.ofMinutes(90), task.getDuration());
+        Assertions.assertEquals(startTime.toEpochSecond(ZoneOffset.UTC), task.getStartEpochSecond());
+        Assertions.assertEquals(task.getStartEpochSecond() + 90 * 60, task.getEndEpochSecond());
+
+        task.setDuration(Duration.ofHours(1));
+        Assertions.assertEquals(startTime.withNano(0).plusHours(1), task.getEndTime());
+        task.setStartTime(startTime.plusDays(1));
+        Assertions.assertEquals(startTime.withNano(0).plusDays(1).plusHours(1), task.getEndTime());
+
+        Task unscheduled = new Task(2, "Task", null);
+        Assertions.assertFalse(unscheduled.hasStartTime());
+        Assertions.assertEquals(LocalDateTime.MIN, unscheduled.getStartTime());
+        Assertions.assertEquals(LocalDateTime.MIN, unscheduled.getEndTime());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> task.setDuration(Duration.ofDays(365L * 100)));
+    }
+}